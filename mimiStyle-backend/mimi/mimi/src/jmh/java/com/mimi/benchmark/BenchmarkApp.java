@@ -0,0 +1,125 @@
+package com.mimi.benchmark;
+
+import com.mimi.MimiApplication;
+import jakarta.servlet.http.HttpServletRequest;
+import com.mimi.service.DataInitializationService;
+import com.mimi.service.impl.ProductCardProjector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database (MySQL mode) and seeds it.
+ * Seeded ids are fixed: the admin created by DataInitializationService (id 1) sells every
+ * product, user {@link #BUYER_ID} buys every order.
+ */
+public final class BenchmarkApp {
+
+    public static final long SELLER_ID = 1L;
+    public static final long BUYER_ID = 2L;
+
+    private static final int BATCH = 1_000;
+
+    private BenchmarkApp() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return start(Map.of());
+    }
+
+    /** Starts with {@code overrides} applied on top of the defaults, e.g. another datasource. */
+    @SafeVarargs
+    public static ConfigurableApplicationContext start(Map<String, Object> overrides,
+            ApplicationContextInitializer<ConfigurableApplicationContext>... initializers) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        // Schema (with its indexes) comes from the Flyway migrations, as in production
+        props.put("spring.jpa.hibernate.ddl-auto", "validate");
+        props.put("server.port", "0");
+        props.put("file.upload-dir", "target/bench-uploads");
+        props.put("logging.level.root", "WARN");
+        props.put("spring.main.banner-mode", "off");
+        props.putAll(overrides);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MimiApplication.class)
+                .properties(props).initializers(initializers).run();
+        // Default admin/categories are seeded in the background; benchmark data builds on them
+        context.getBean(DataInitializationService.class).seeded().join();
+        return context;
+    }
+
+    /** A plain GET without conditional headers, for calling controllers that take a WebRequest. */
+    public static WebRequest plainGet() {
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(BenchmarkApp.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getMethod" -> "GET";
+                    case "getHeaders" -> Collections.emptyEnumeration();
+                    case "getDateHeader" -> -1L;
+                    default -> method.getReturnType() == boolean.class ? false
+                            : method.getReturnType() == int.class ? 0 : null;
+                });
+        return new ServletWebRequest(request);
+    }
+
+    /** Seeds {@code size} products (one thumbnail each) and {@code size} one-line orders. */
+    public static void seed(ConfigurableApplicationContext context, int size) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbc.update("INSERT INTO users (id, username, email, password, full_name, role, page_views, created_at) "
+                + "VALUES (?, 'buyer', 'buyer@mimi.com', 'x', 'Nguyễn Văn Mua', 'USER', 0, ?)", BUYER_ID, now);
+
+        List<Object[]> products = new ArrayList<>(BATCH);
+        List<Object[]> images = new ArrayList<>(BATCH);
+        List<Object[]> orders = new ArrayList<>(BATCH);
+        List<Object[]> items = new ArrayList<>(BATCH);
+        List<Object[]> sellerOrders = new ArrayList<>(BATCH);
+        for (long id = 1; id <= size; id++) {
+            BigDecimal price = BigDecimal.valueOf(50_000 + (id * 7_919) % 5_000_000);
+            products.add(new Object[] {id, SELLER_ID, 1 + id % 10, "Sản phẩm " + id,
+                    "Mô tả chi tiết cho sản phẩm " + id, price, now});
+            images.add(new Object[] {id, id, "product_" + id + ".jpg"});
+            orders.add(new Object[] {id, BUYER_ID, price, price, now});
+            items.add(new Object[] {id, id, id, price});
+            sellerOrders.add(new Object[] {SELLER_ID, id, now});
+            if (products.size() == BATCH || id == size) {
+                jdbc.batchUpdate("INSERT INTO products (id, seller_id, category_id, name, description, buy_price, "
+                        + "trade_type, status, is_featured, is_new, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 'BUY_ONLY', 'ACTIVE', FALSE, FALSE, ?)", products);
+                jdbc.batchUpdate("INSERT INTO product_images (id, product_id, image_url, is_thumbnail) "
+                        + "VALUES (?, ?, ?, TRUE)", images);
+                jdbc.batchUpdate("INSERT INTO orders (id, buyer_id, total_amount, shipping_fee, discount_amount, "
+                        + "final_amount, payment_method, status, shipping_name, shipping_phone, shipping_address, created_at) "
+                        + "VALUES (?, ?, ?, 0, 0, ?, 'COD', 'COMPLETED', 'Nguyễn Văn Mua', '0900000000', 'TP.HCM', ?)", orders);
+                jdbc.batchUpdate("INSERT INTO order_items (id, order_id, product_id, quantity, price, order_type) "
+                        + "VALUES (?, ?, ?, 1, ?, 'BUY')", items);
+                jdbc.batchUpdate("INSERT INTO seller_orders (seller_id, order_id, order_created_at, status) "
+                        + "VALUES (?, ?, ?, 'COMPLETED')", sellerOrders);
+                products.clear();
+                images.clear();
+                orders.clear();
+                items.clear();
+                sellerOrders.clear();
+            }
+        }
+        // Bulk SQL bypasses the projector that keeps product_cards current
+        context.getBean(ProductCardProjector.class).backfill();
+    }
+}
@@ -0,0 +1,320 @@
+package com.mimi.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic marketplace (users, products with thumbnails, orders with items)
+ * through batched JDBC. Output is deterministic for a given seed and volumes, and ids continue
+ * after whatever rows already exist, so it can run on top of DataInitializationService's seed.
+ *
+ * <p>Against a real MySQL (schema created by the application first):
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbench.main=com.mimi.benchmark.DataGenerator \
+ *     -Dbench.args="url=jdbc:mysql://localhost:3306/mimi?rewriteBatchedStatements=true user=root password=123456 \
+ *                   users=50000 products=500000 orderItems=5000000"
+ * </pre>
+ */
+public class DataGenerator {
+
+    private static final int BATCH = 1_000;
+
+    /** Bcrypt of "123456", same as the seeded admin. */
+    private static final String PASSWORD_HASH = "$2a$10$WtfQ7DJDfsVo7Xeg3cdIr.3pm4XXfdZXut5bQ91KKY/UOzWvZA8sW";
+
+    private static final String[] CATEGORY_NAMES = {
+            "Đồ chơi", "Quần áo", "Giày dép", "Xe đẩy", "Bình sữa",
+            "Tã bỉm", "Sữa bột", "Nôi cũi", "Ghế ăn dặm", "Đồ dùng tắm"
+    };
+    /** Share of listings per category, same order as {@link #CATEGORY_NAMES}. */
+    private static final double[] CATEGORY_WEIGHTS = {18, 24, 10, 6, 8, 9, 7, 5, 6, 7};
+    /** Median buy price (VND) per category; prices are log-normal around it. */
+    private static final long[] CATEGORY_MEDIAN_PRICE = {
+            150_000, 120_000, 180_000, 1_800_000, 220_000, 250_000, 450_000, 2_200_000, 900_000, 200_000
+    };
+    private static final String[] CATEGORY_ITEMS = {
+            "Bộ xếp hình", "Bộ quần áo sơ sinh", "Giày tập đi", "Xe đẩy gấp gọn", "Bình sữa cổ rộng",
+            "Tã dán", "Sữa công thức", "Cũi gỗ", "Ghế ăn dặm gấp gọn", "Chậu tắm"
+    };
+    private static final String[] BRANDS = {
+            "Pigeon", "Combi", "Aprica", "Joie", "Chicco", "Lego", "Merries", "Bobby", "Huggies", "Meiji", "Fisher-Price"
+    };
+
+    // Họ phổ biến và tỉ lệ xấp xỉ trong dân số
+    private static final String[] FAMILY_NAMES = {
+            "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng", "Bùi", "Đỗ", "Hồ", "Ngô", "Dương", "Lý"
+    };
+    private static final double[] FAMILY_WEIGHTS = {38, 11, 9.5, 7, 5.1, 2.1, 4.5, 3.9, 2.5, 2.1, 2, 1.4, 1.3, 1.3, 1, 0.5};
+    private static final String[] MIDDLE_NAMES_MALE = {"Văn", "Minh", "Đức", "Quang", "Hữu", "Thành", "Gia", "Anh"};
+    private static final String[] MIDDLE_NAMES_FEMALE = {"Thị", "Ngọc", "Thu", "Thanh", "Bảo", "Khánh", "Mỹ", "Phương"};
+    private static final String[] GIVEN_NAMES_MALE = {"An", "Bình", "Cường", "Dũng", "Hải", "Hùng", "Khang", "Long", "Nam", "Phúc", "Quân", "Sơn", "Tâm", "Tuấn", "Việt"};
+    private static final String[] GIVEN_NAMES_FEMALE = {"Anh", "Chi", "Hà", "Hạnh", "Hoa", "Hương", "Lan", "Linh", "Mai", "My", "Nhung", "Thảo", "Trang", "Vy", "Yến"};
+    private static final String[] DISTRICTS = {
+            "Q.1, TP.HCM", "Q.3, TP.HCM", "Q.7, TP.HCM", "TP. Thủ Đức", "Q. Bình Thạnh, TP.HCM",
+            "Q. Cầu Giấy, Hà Nội", "Q. Đống Đa, Hà Nội", "Q. Hải Châu, Đà Nẵng", "Q. Ninh Kiều, Cần Thơ", "TP. Biên Hòa, Đồng Nai"
+    };
+    private static final String[] STREETS = {"Nguyễn Văn Cừ", "Lê Lợi", "Trần Hưng Đạo", "Hai Bà Trưng", "Điện Biên Phủ", "Cách Mạng Tháng 8"};
+
+    private static final String[] ORDER_STATUSES = {"COMPLETED", "SHIPPING", "CONFIRMED", "PENDING", "CANCELLED"};
+    private static final double[] ORDER_STATUS_WEIGHTS = {70, 6, 6, 8, 10};
+
+    /** Requested volumes; order count follows from order items at 1–4 lines per order. */
+    public record Volumes(int users, int products, long orderItems) {
+    }
+
+    /** Ids of the generated rows, for load scenarios that need to address them. */
+    public record Result(long firstUserId, long lastUserId, long firstProductId, long lastProductId,
+                         long firstOrderId, long lastOrderId, int sellers, long orderItems) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final SplittableRandom random;
+
+    public DataGenerator(DataSource dataSource, long seed) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.random = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Options.parse(args);
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                Options.get(options, "url", "jdbc:mysql://localhost:3306/mimi?rewriteBatchedStatements=true"),
+                Options.get(options, "user", "root"),
+                Options.get(options, "password", "123456"));
+        Volumes volumes = new Volumes(
+                Options.getInt(options, "users", 50_000),
+                Options.getInt(options, "products", 500_000),
+                Options.getLong(options, "orderItems", 5_000_000));
+
+        long start = System.nanoTime();
+        Result result = new DataGenerator(dataSource, Options.getLong(options, "seed", 42)).generate(volumes);
+        System.out.printf("Generated %s in %.1fs%n", result, (System.nanoTime() - start) / 1e9);
+    }
+
+    public Result generate(Volumes volumes) {
+        List<Long> categoryIds = ensureCategories();
+        long firstUserId = nextId("users");
+        long firstProductId = nextId("products");
+        long firstImageId = nextId("product_images");
+        long firstOrderId = nextId("orders");
+        long firstItemId = nextId("order_items");
+
+        // Khoảng 10% người dùng có đăng bán; còn lại chỉ mua
+        int sellers = Math.max(1, volumes.users() / 10);
+        insertUsers(firstUserId, volumes.users());
+        insertProducts(firstProductId, firstImageId, volumes.products(), firstUserId, sellers, categoryIds);
+        long orders = insertOrders(firstOrderId, firstItemId, volumes.orderItems(),
+                firstUserId, volumes.users(), firstProductId, volumes.products());
+        indexSellerOrders(firstOrderId, firstOrderId + orders - 1);
+        restartIdentities();
+
+        return new Result(firstUserId, firstUserId + volumes.users() - 1,
+                firstProductId, firstProductId + volumes.products() - 1,
+                firstOrderId, firstOrderId + orders - 1, sellers, volumes.orderItems());
+    }
+
+    private List<Long> ensureCategories() {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+        if (!ids.isEmpty()) {
+            return ids;
+        }
+        for (String name : CATEGORY_NAMES) {
+            jdbc.update("INSERT INTO categories (name) VALUES (?)", name);
+        }
+        return jdbc.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+    }
+
+    private void insertUsers(long firstId, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (long id = firstId; id < firstId + count; id++) {
+            boolean female = random.nextBoolean();
+            String fullName = pick(FAMILY_NAMES, FAMILY_WEIGHTS) + " "
+                    + pick(female ? MIDDLE_NAMES_FEMALE : MIDDLE_NAMES_MALE) + " "
+                    + pick(female ? GIVEN_NAMES_FEMALE : GIVEN_NAMES_MALE);
+            String username = "u" + id;
+            rows.add(new Object[] {id, username, username + "@mimi.test", PASSWORD_HASH, fullName,
+                    "09" + (10_000_000 + random.nextInt(90_000_000)), address(), now});
+            if (rows.size() == BATCH) {
+                flush("INSERT INTO users (id, username, email, password, full_name, phone_number, address, role, page_views, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, 'USER', 0, ?)", rows);
+            }
+        }
+        flush("INSERT INTO users (id, username, email, password, full_name, phone_number, address, role, page_views, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 'USER', 0, ?)", rows);
+    }
+
+    private void insertProducts(long firstId, long firstImageId, int count, long firstUserId, int sellers,
+                                List<Long> categoryIds) {
+        String productSql = "INSERT INTO products (id, seller_id, category_id, name, description, condition_percentage, "
+                + "trade_type, buy_price, rent_price, rent_unit, status, address_contact, is_featured, is_new, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String imageSql = "INSERT INTO product_images (id, product_id, image_url, is_thumbnail) VALUES (?, ?, ?, TRUE)";
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> products = new ArrayList<>(BATCH);
+        List<Object[]> images = new ArrayList<>(BATCH);
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            int category = pickIndex(CATEGORY_WEIGHTS) % categoryIds.size();
+            // Vài shop lớn chiếm phần lớn tin đăng
+            long sellerId = firstUserId + skewed(sellers);
+            BigDecimal buyPrice = price(CATEGORY_MEDIAN_PRICE[category % CATEGORY_MEDIAN_PRICE.length]);
+            int trade = random.nextInt(10);
+            String tradeType = trade < 7 ? "BUY_ONLY" : trade < 9 ? "BOTH" : "RENT_ONLY";
+            BigDecimal rentPrice = "BUY_ONLY".equals(tradeType) ? null : roundVnd(buyPrice.longValue() / 10);
+            String status = random.nextInt(100) < 92 ? "ACTIVE" : "SOLD_OUT";
+            String name = CATEGORY_ITEMS[category % CATEGORY_ITEMS.length] + " " + pick(BRANDS) + " #" + id;
+            products.add(new Object[] {id, sellerId, categoryIds.get(category), name,
+                    "Hàng đã qua sử dụng, còn tốt. " + name, 70 + random.nextInt(31), tradeType,
+                    "RENT_ONLY".equals(tradeType) ? null : buyPrice, rentPrice,
+                    rentPrice == null ? null : "MONTH", status, address(),
+                    random.nextInt(100) < 3, random.nextInt(100) < 15,
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)))});
+            images.add(new Object[] {firstImageId + i, id, "product_" + id + ".jpg"});
+            if (products.size() == BATCH) {
+                flush(productSql, products);
+                flush(imageSql, images);
+            }
+        }
+        flush(productSql, products);
+        flush(imageSql, images);
+    }
+
+    private long insertOrders(long firstOrderId, long firstItemId, long itemCount, long firstUserId, int users,
+                              long firstProductId, int products) {
+        String orderSql = "INSERT INTO orders (id, buyer_id, total_amount, shipping_fee, discount_amount, final_amount, "
+                + "payment_method, status, shipping_name, shipping_phone, shipping_address, created_at) "
+                + "VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (id, order_id, product_id, quantity, price, order_type, rent_duration) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        BigDecimal shippingFee = BigDecimal.valueOf(20_000);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> orders = new ArrayList<>(BATCH);
+        List<Object[]> items = new ArrayList<>(BATCH);
+        long orderId = firstOrderId;
+        long itemId = firstItemId;
+        long lastItemId = firstItemId + itemCount;
+        while (itemId < lastItemId) {
+            int lines = (int) Math.min(1 + random.nextInt(4), lastItemId - itemId);
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int line = 0; line < lines; line++) {
+                // Sản phẩm bán chạy xuất hiện nhiều hơn
+                long productId = firstProductId + skewed(products);
+                int quantity = random.nextInt(10) < 8 ? 1 : 2;
+                boolean rent = random.nextInt(10) == 0;
+                BigDecimal price = rent ? roundVnd(30_000 + random.nextInt(300_000))
+                        : price(CATEGORY_MEDIAN_PRICE[random.nextInt(CATEGORY_MEDIAN_PRICE.length)]);
+                subtotal = subtotal.add(price.multiply(BigDecimal.valueOf(quantity)));
+                items.add(new Object[] {itemId++, orderId, productId, quantity, price,
+                        rent ? "RENT" : "BUY", rent ? 1 + random.nextInt(6) : null});
+            }
+            String shippingName = pick(FAMILY_NAMES, FAMILY_WEIGHTS) + " " + pick(MIDDLE_NAMES_FEMALE) + " " + pick(GIVEN_NAMES_FEMALE);
+            orders.add(new Object[] {orderId++, firstUserId + random.nextInt(users), subtotal, shippingFee,
+                    subtotal.add(shippingFee), random.nextInt(10) < 7 ? "COD" : "BANK_TRANSFER",
+                    pick(ORDER_STATUSES, ORDER_STATUS_WEIGHTS), shippingName,
+                    "09" + (10_000_000 + random.nextInt(90_000_000)), address(),
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)))});
+            if (items.size() >= BATCH) {
+                flush(orderSql, orders);
+                flush(itemSql, items);
+            }
+        }
+        flush(orderSql, orders);
+        flush(itemSql, items);
+        return orderId - firstOrderId;
+    }
+
+    /** The seller_orders rows OrderServiceImpl would have written for these orders. */
+    private void indexSellerOrders(long firstOrderId, long lastOrderId) {
+        for (long first = firstOrderId; first <= lastOrderId; first += BATCH) {
+            long from = first;
+            long to = Math.min(first + BATCH - 1, lastOrderId);
+            tx.executeWithoutResult(s -> jdbc.update(
+                    "INSERT INTO seller_orders (seller_id, order_id, order_created_at, status) "
+                    + "SELECT DISTINCT p.seller_id, o.id, o.created_at, o.status FROM orders o "
+                    + "JOIN order_items oi ON oi.order_id = o.id JOIN products p ON p.id = oi.product_id "
+                    + "WHERE o.id BETWEEN ? AND ?", from, to));
+        }
+    }
+
+    /** H2 does not move identity sequences past explicit ids; MySQL does so itself. */
+    private void restartIdentities() {
+        String product = jdbc.execute((java.sql.Connection c) -> c.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            return;
+        }
+        for (String table : new String[] {"categories", "users", "products", "product_images", "orders", "order_items"}) {
+            jdbc.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId(table));
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /** One transaction per batch keeps MySQL from committing every row. */
+    private void flush(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        tx.executeWithoutResult(s -> jdbc.batchUpdate(sql, rows));
+        rows.clear();
+    }
+
+    private String address() {
+        return (1 + random.nextInt(300)) + " " + pick(STREETS) + ", " + pick(DISTRICTS);
+    }
+
+    /** Log-normal around the median, rounded to 1.000đ like real listings. */
+    private BigDecimal price(long median) {
+        double gaussian = random.nextDouble() + random.nextDouble() + random.nextDouble() - 1.5; // ~N(0, 0.5)
+        return roundVnd(Math.max(10_000, (long) (median * Math.exp(gaussian * 1.2))));
+    }
+
+    private static BigDecimal roundVnd(long amount) {
+        return BigDecimal.valueOf(Math.max(1_000, amount / 1_000 * 1_000));
+    }
+
+    /** Zipf-like index in [0, n): low indexes are picked far more often. */
+    private long skewed(int n) {
+        double u = random.nextDouble();
+        return Math.min(n - 1, (long) (n * u * u * u));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pick(String[] values, double[] weights) {
+        return values[pickIndex(weights)];
+    }
+
+    private int pickIndex(double[] weights) {
+        double total = 0;
+        for (double w : weights) {
+            total += w;
+        }
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -0,0 +1,378 @@
+package com.mimi.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs EXPLAIN on the SQL behind every query method declared in {@code com.mimi.repository} and
+ * exits with status 1 when one of them reads a table with a full scan. Run it before deploying
+ * a query or migration change:
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbench.main=com.mimi.benchmark.ExplainCheck \
+ *     -Dbench.args="url=jdbc:mysql://localhost:3306/mimi_explain user=root password=123456"
+ * </pre>
+ * Without {@code url} it runs on the in-memory H2 (MySQL mode); use a scratch MySQL database for
+ * real MySQL plans, since the check migrates it and loads synthetic data into it. The schema comes
+ * from the Flyway migrations and {@link DataGenerator} fills users, products and orders so the
+ * optimizer sees realistic table sizes. Tables with fewer than {@code minRows} rows are not judged:
+ * scanning those is the right plan. {@code allow=Repository.method,...} accepts known scans.
+ * <p>
+ * The default build also runs it on H2 as a test (ExplainCheckTest), so {@code mvn verify} fails
+ * on a new full scan.
+ */
+public class ExplainCheck {
+
+    private static final Pattern TABLE_ALIAS =
+            Pattern.compile("(?i)\\b(?:from|join)\\s+([a-z_][a-z0-9_]*)(?:\\s+(?:as\\s+)?([a-z_][a-z0-9_]*))?");
+    /** H2 marks scans in the plan as {@code /* schema.table.tableScan *&#47;}. */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*\"?\\w+\"?\\.\"?(\\w+)\"?\\.tableScan");
+
+    record Captured(String method, String sql, Map<Integer, Object> params) {
+    }
+
+    record Finding(String method, String sql, String table, long rows) {
+    }
+
+    private final Capture capture = new Capture();
+    private final Map<String, Long> tableRows = new HashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        List<Finding> failures = run(Options.parse(args));
+        if (failures.isEmpty()) {
+            System.out.println("No full scans.");
+            return;
+        }
+        System.out.printf("%d full scan(s):%n", failures.size());
+        for (Finding f : failures) {
+            System.out.printf("  %s scans %s (%d rows)%n    %s%n", f.method(), f.table(), f.rows(), f.sql());
+        }
+        System.exit(1);
+    }
+
+    /** Full scans of judged tables, minus the allowed ones. */
+    static List<Finding> run(Map<String, String> options) throws Exception {
+        Map<String, Object> props = new HashMap<>();
+        if (options.containsKey("url")) {
+            props.put("spring.datasource.url", options.get("url"));
+            props.put("spring.datasource.username", Options.get(options, "user", "root"));
+            props.put("spring.datasource.password", Options.get(options, "password", "123456"));
+            props.put("spring.datasource.driver-class-name", "com.mysql.cj.jdbc.Driver");
+            props.put("spring.flyway.baseline-on-migrate", "true");
+        }
+        Set<String> allowed = new LinkedHashSet<>();
+        for (String method : Options.get(options, "allow", "").split(",")) {
+            if (!method.isBlank()) {
+                allowed.add(method.trim());
+            }
+        }
+
+        ExplainCheck check = new ExplainCheck();
+        List<Finding> findings;
+        try (ConfigurableApplicationContext context = BenchmarkApp.start(props, check::install)) {
+            DataGenerator.Volumes volumes = new DataGenerator.Volumes(
+                    Options.getInt(options, "users", 2_000),
+                    Options.getInt(options, "products", 20_000),
+                    Options.getLong(options, "orderItems", 20_000));
+            DataGenerator.Result data = new DataGenerator(context.getBean(DataSource.class),
+                    Options.getLong(options, "seed", 42)).generate(volumes);
+            System.out.printf("Loaded %s%n", data);
+
+            List<Captured> statements = check.exercise(context);
+            findings = check.explain(context.getBean(DataSource.class), statements,
+                    Options.getLong(options, "minRows", 1_000));
+        }
+
+        return findings.stream().filter(f -> !allowed.contains(f.method())).toList();
+    }
+
+    /** Wraps the connection pool so the SQL of each repository call is recorded with its bind values. */
+    private void install(ConfigurableApplicationContext context) {
+        context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                        ? capture.wrap(dataSource) : bean;
+            }
+        });
+    }
+
+    /** Calls every declared query method once, with sample arguments, inside a rolled-back transaction. */
+    List<Captured> exercise(ConfigurableApplicationContext context) {
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+
+        Map<String, Object> repositories = new TreeMap<>();
+        for (Object bean : context.getBeansOfType(Repository.class).values()) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(bean)) {
+                if (type.getPackageName().equals("com.mimi.repository")) {
+                    repositories.put(type.getName(), bean);
+                }
+            }
+        }
+        for (Object bean : repositories.values()) {
+            Class<?> type = Arrays.stream(AopProxyUtils.proxiedUserInterfaces(bean))
+                    .filter(t -> t.getPackageName().equals("com.mimi.repository")).findFirst().orElseThrow();
+            Method[] methods = type.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (!isQuery(method)) {
+                    continue;
+                }
+                String label = type.getSimpleName() + "." + method.getName();
+                Object[] args = sampleArguments(method);
+                if (args == null) {
+                    System.out.printf("  skipped %s: unsupported parameter types%n", label);
+                    continue;
+                }
+                // Cached results would skip the SQL we want to see
+                sessionFactory.getCache().evictAllRegions();
+                tx.executeWithoutResult(status -> {
+                    status.setRollbackOnly();
+                    capture.label = label;
+                    try {
+                        Object result = method.invoke(bean, args);
+                        if (result instanceof Stream<?> stream) {
+                            try (stream) {
+                                stream.findFirst();
+                            }
+                        }
+                    } catch (InvocationTargetException ex) {
+                        System.out.printf("  %s failed: %s%n", label, ex.getTargetException().getMessage());
+                    } catch (IllegalAccessException ex) {
+                        throw new IllegalStateException(ex);
+                    } finally {
+                        capture.label = null;
+                    }
+                });
+            }
+        }
+        return capture.statements;
+    }
+
+    List<Finding> explain(DataSource dataSource, List<Captured> statements, long minRows) throws SQLException {
+        List<Finding> findings = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            for (Captured statement : statements) {
+                if (!seen.add(statement.method() + "\n" + statement.sql())) {
+                    continue;
+                }
+                Map<String, String> aliases = aliases(statement.sql());
+                Set<String> scanned = mysql ? mysqlScans(connection, statement, aliases) : h2Scans(connection, statement);
+                if (scanned.isEmpty()) {
+                    System.out.printf("  ok         %s%n", statement.method());
+                }
+                for (String table : scanned) {
+                    long rows = rows(connection, table);
+                    boolean judged = rows >= minRows;
+                    System.out.printf("  %s %s scans %s (%d rows)%n", judged ? "FULL SCAN " : "small scan", statement.method(), table, rows);
+                    if (judged) {
+                        findings.add(new Finding(statement.method(), statement.sql(), table, rows));
+                    }
+                }
+            }
+        }
+        return findings;
+    }
+
+    private Set<String> mysqlScans(Connection connection, Captured statement, Map<String, String> aliases) throws SQLException {
+        Set<String> tables = new LinkedHashSet<>();
+        try (PreparedStatement explain = prepare(connection, statement);
+             ResultSet rs = explain.executeQuery()) {
+            while (rs.next()) {
+                String table = rs.getString("table");
+                if ("ALL".equals(rs.getString("type")) && table != null && !table.startsWith("<")) {
+                    tables.add(aliases.getOrDefault(table, table));
+                }
+            }
+        }
+        return tables;
+    }
+
+    private Set<String> h2Scans(Connection connection, Captured statement) throws SQLException {
+        Set<String> tables = new LinkedHashSet<>();
+        try (PreparedStatement explain = prepare(connection, statement);
+             ResultSet rs = explain.executeQuery()) {
+            while (rs.next()) {
+                Matcher m = H2_TABLE_SCAN.matcher(rs.getString(1));
+                while (m.find()) {
+                    tables.add(m.group(1).toLowerCase());
+                }
+            }
+        }
+        return tables;
+    }
+
+    private static PreparedStatement prepare(Connection connection, Captured statement) throws SQLException {
+        PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+        for (Map.Entry<Integer, Object> param : statement.params().entrySet()) {
+            explain.setObject(param.getKey(), param.getValue());
+        }
+        return explain;
+    }
+
+    private long rows(Connection connection, String table) throws SQLException {
+        Long cached = tableRows.get(table);
+        if (cached != null) {
+            return cached;
+        }
+        try (PreparedStatement count = connection.prepareStatement("SELECT COUNT(*) FROM " + table);
+             ResultSet rs = count.executeQuery()) {
+            rs.next();
+            tableRows.put(table, rs.getLong(1));
+            return rs.getLong(1);
+        }
+    }
+
+    private static Map<String, String> aliases(String sql) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher m = TABLE_ALIAS.matcher(sql);
+        while (m.find()) {
+            aliases.put(m.group(1), m.group(1));
+            if (m.group(2) != null) {
+                aliases.put(m.group(2), m.group(1));
+            }
+        }
+        return aliases;
+    }
+
+    private static boolean isQuery(Method method) {
+        if (method.isDefault() || Modifier.isStatic(method.getModifiers()) || method.isAnnotationPresent(Modifying.class)) {
+            return false;
+        }
+        String name = method.getName();
+        return !(name.startsWith("save") || name.startsWith("delete") || name.startsWith("remove") || name.startsWith("insert"));
+    }
+
+    /** One plausible value per parameter, or null if a parameter type is not known here. */
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == Long.class || type == long.class) {
+                args[i] = 1L;
+            } else if (type == Integer.class || type == int.class) {
+                args[i] = 1;
+            } else if (type == Boolean.class || type == boolean.class) {
+                args[i] = true;
+            } else if (type == String.class) {
+                args[i] = "x";
+            } else if (type == BigDecimal.class) {
+                args[i] = new BigDecimal("100000");
+            } else if (type == LocalDateTime.class) {
+                args[i] = LocalDateTime.now().minusDays(30);
+            } else if (type == LocalDate.class) {
+                args[i] = LocalDate.now().minusDays(30);
+            } else if (Collection.class.isAssignableFrom(type)) {
+                args[i] = List.of(1L, 2L, 3L);
+            } else if (type == Limit.class) {
+                args[i] = Limit.of(20);
+            } else if (type == Pageable.class) {
+                args[i] = PageRequest.of(0, 20);
+            } else if (type == Sort.class) {
+                args[i] = Sort.unsorted();
+            } else if (type.isEnum()) {
+                args[i] = type.getEnumConstants()[0];
+            } else {
+                return null;
+            }
+        }
+        return args;
+    }
+
+    /** Records prepared SELECTs and their bind values while {@link #label} is set. */
+    private static final class Capture {
+
+        volatile String label;
+        final List<Captured> statements = new ArrayList<>();
+
+        DataSource wrap(DataSource target) {
+            return new DelegatingDataSource(target) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+            };
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        String current = label;
+                        if (current != null && method.getName().equals("prepareStatement") && isSelect((String) args[0])) {
+                            return statement((PreparedStatement) result, current, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String method, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                    (proxy, m, args) -> {
+                        String name = m.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("executeQuery") || name.equals("execute")) {
+                            statements.add(new Captured(method, sql, new TreeMap<>(params)));
+                        }
+                        return invoke(target, m, args);
+                    });
+        }
+
+        private static boolean isSelect(String sql) {
+            String head = sql.stripLeading().toLowerCase();
+            return head.startsWith("select") || head.startsWith("with");
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mimi.benchmark;
+
+import com.mimi.domain.enums.OrderStatus;
+import com.mimi.domain.enums.ProductStatus;
+import com.mimi.domain.enums.RentUnit;
+import com.mimi.domain.enums.TradeType;
+import com.mimi.dto.response.OrderItemResponse;
+import com.mimi.dto.response.OrderResponse;
+import com.mimi.dto.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Jackson serialization of ProductResponse / OrderResponse lists, without any database work. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private List<ProductResponse> products;
+    private List<OrderResponse> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = sampleProducts(size);
+        orders = sampleOrders(size);
+    }
+
+    /** Fully populated responses, as the listings return them. */
+    static List<ProductResponse> sampleProducts(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponse> products = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            BigDecimal price = BigDecimal.valueOf(50_000 + (id * 7_919) % 5_000_000);
+            products.add(new ProductResponse(id, "Sản phẩm " + id, "Mô tả chi tiết cho sản phẩm " + id, 95,
+                    TradeType.BOTH, price, price.movePointLeft(1), RentUnit.MONTH, ProductStatus.ACTIVE,
+                    "123 Nguyễn Văn Cừ, Q.5, TP.HCM", false, true, now, 1L, "Admin User", 1 + id % 10,
+                    "Đồ chơi", List.of("product_" + id + ".jpg")));
+        }
+        return products;
+    }
+
+    static List<OrderResponse> sampleOrders(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderResponse> orders = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            BigDecimal price = BigDecimal.valueOf(50_000 + (id * 7_919) % 5_000_000);
+            orders.add(new OrderResponse(id, now, OrderStatus.COMPLETED, "Nguyễn Văn Mua", "0900000000",
+                    "TP.HCM", null, price, BigDecimal.ZERO, BigDecimal.ZERO, price,
+                    List.of(new OrderItemResponse(id, "Sản phẩm " + id, "product_" + id + ".jpg", 1, price, price))));
+        }
+        return orders;
+    }
+
+    @Benchmark
+    public byte[] products() {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] orders() {
+        return mapper.writeValueAsBytes(orders);
+    }
+}
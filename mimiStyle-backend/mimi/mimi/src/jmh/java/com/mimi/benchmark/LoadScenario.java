@@ -0,0 +1,280 @@
+package com.mimi.benchmark;
+
+import com.mimi.service.impl.ProductCardProjector;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeatable end-to-end load: boots the application on H2 (MySQL mode), fills it with
+ * {@link DataGenerator}, then drives browse, checkout and revenue endpoints over HTTP from a
+ * fixed number of closed-loop clients and prints throughput and p50/p99 latency per operation.
+ *
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Dbench.main=com.mimi.benchmark.LoadScenario \
+ *     -Dbench.args="users=5000 products=50000 orderItems=500000 clients=16 warmup=10 seconds=30"
+ * </pre>
+ * Pass {@code baseUrl=http://host:8081} to load an already-running instance instead; it then also
+ * needs the generator's id ranges ({@code firstUserId}, {@code sellers}, {@code firstProductId}, ...).
+ */
+public class LoadScenario {
+
+    /** Operation mix, in percent; together one request per iteration. */
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    enum Operation {
+        PRODUCT_DETAIL(40),
+        SELLER_PRODUCTS(20),
+        QUOTE(20),
+        CREATE_ORDER(5),
+        MY_ORDERS(5),
+        REVENUE_SUMMARY(10);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final long firstUserId;
+    private final int users;
+    private final int sellers;
+    private final long firstProductId;
+    private final int products;
+
+    LoadScenario(String baseUrl, long firstUserId, int users, int sellers, long firstProductId, int products) {
+        this.baseUrl = baseUrl;
+        this.firstUserId = firstUserId;
+        this.users = users;
+        this.sellers = sellers;
+        this.firstProductId = firstProductId;
+        this.products = products;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        int clients = Options.getInt(options, "clients", 16);
+        int warmup = Options.getInt(options, "warmup", 10);
+        int seconds = Options.getInt(options, "seconds", 30);
+        long seed = Options.getLong(options, "seed", 42);
+
+        ConfigurableApplicationContext context = null;
+        LoadScenario scenario;
+        if (options.containsKey("baseUrl")) {
+            scenario = new LoadScenario(options.get("baseUrl"),
+                    Options.getLong(options, "firstUserId", 2), Options.getInt(options, "users", 50_000),
+                    Options.getInt(options, "sellers", 5_000),
+                    Options.getLong(options, "firstProductId", 1), Options.getInt(options, "products", 500_000));
+        } else {
+            context = BenchmarkApp.start();
+            DataGenerator.Volumes volumes = new DataGenerator.Volumes(
+                    Options.getInt(options, "users", 5_000),
+                    Options.getInt(options, "products", 50_000),
+                    Options.getLong(options, "orderItems", 500_000));
+            long start = System.nanoTime();
+            DataGenerator.Result data = new DataGenerator(context.getBean(DataSource.class), seed).generate(volumes);
+            context.getBean(ProductCardProjector.class).backfill();
+            System.out.printf("Loaded %s in %.1fs%n", data, (System.nanoTime() - start) / 1e9);
+            scenario = new LoadScenario("http://localhost:" + context.getEnvironment().getProperty("local.server.port"),
+                    data.firstUserId(), volumes.users(), data.sellers(), data.firstProductId(), volumes.products());
+        }
+
+        try {
+            System.out.printf("Warm-up: %d clients for %ds%n", clients, warmup);
+            scenario.run(clients, warmup, seed);
+            System.out.printf("Measuring: %d clients for %ds%n", clients, seconds);
+            scenario.run(clients, seconds, seed + 1).print(seconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    Report run(int clients, int seconds, long seed) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        Recorder[] recorders = new Recorder[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        for (int c = 0; c < clients; c++) {
+            Recorder recorder = new Recorder();
+            recorders[c] = recorder;
+            // Mỗi client có seed riêng để lần chạy sau lặp lại đúng chuỗi request
+            SplittableRandom random = new SplittableRandom(seed * 1_000 + c);
+            pool.execute(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        Operation op = pick(random);
+                        long start = System.nanoTime();
+                        boolean ok = execute(op, random);
+                        recorder.record(op, System.nanoTime() - start, ok);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+        return new Report(recorders);
+    }
+
+    private boolean execute(Operation op, SplittableRandom random) {
+        try {
+            HttpRequest request = switch (op) {
+                case PRODUCT_DETAIL -> get("/api/products/" + product(random));
+                case SELLER_PRODUCTS -> get("/api/products/user/" + seller(random));
+                case QUOTE -> post("/api/orders/quote", "{\"items\":" + cart(random) + "}");
+                case CREATE_ORDER -> post("/api/orders", "{\"buyerId\":" + buyer(random)
+                        + ",\"shippingName\":\"Nguyễn Thị Lan\",\"shippingPhone\":\"0901234567\""
+                        + ",\"shippingAddress\":\"12 Lê Lợi, Q.1, TP.HCM\",\"shippingFee\":20000"
+                        + ",\"paymentMethod\":\"COD\",\"items\":" + cart(random) + "}");
+                case MY_ORDERS -> get("/api/orders/me?buyerId=" + buyer(random));
+                case REVENUE_SUMMARY -> get("/api/revenue/summary/" + seller(random));
+            };
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    private String cart(SplittableRandom random) {
+        int lines = 1 + random.nextInt(3);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"productId\":").append(product(random)).append(",\"quantity\":").append(1 + random.nextInt(2)).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /** Same popularity skew as the generator: low ids are the best sellers. */
+    private long product(SplittableRandom random) {
+        double u = random.nextDouble();
+        return firstProductId + Math.min(products - 1, (long) (products * u * u * u));
+    }
+
+    private long seller(SplittableRandom random) {
+        double u = random.nextDouble();
+        return firstUserId + Math.min(sellers - 1, (long) (sellers * u * u * u));
+    }
+
+    private long buyer(SplittableRandom random) {
+        return firstUserId + random.nextInt(users);
+    }
+
+    private static Operation pick(SplittableRandom random) {
+        int r = random.nextInt(100);
+        for (Operation op : OPERATIONS) {
+            r -= op.weight;
+            if (r < 0) {
+                return op;
+            }
+        }
+        return OPERATIONS[OPERATIONS.length - 1];
+    }
+
+    /** Per-client latency samples, so the hot loop never contends on shared state. */
+    static final class Recorder {
+        final long[][] samples = new long[OPERATIONS.length][1_024];
+        final int[] counts = new int[OPERATIONS.length];
+        final int[] errors = new int[OPERATIONS.length];
+
+        void record(Operation op, long nanos, boolean ok) {
+            int i = op.ordinal();
+            if (!ok) {
+                errors[i]++;
+            }
+            if (counts[i] == samples[i].length) {
+                samples[i] = Arrays.copyOf(samples[i], samples[i].length * 2);
+            }
+            samples[i][counts[i]++] = nanos;
+        }
+    }
+
+    static final class Report {
+        private final Recorder[] recorders;
+
+        Report(Recorder[] recorders) {
+            this.recorders = recorders;
+        }
+
+        void print(int seconds) {
+            System.out.printf("%-16s %9s %7s %10s %10s %10s %10s%n",
+                    "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+            List<long[]> all = new ArrayList<>();
+            int totalErrors = 0;
+            for (Operation op : OPERATIONS) {
+                long[] merged = merge(op.ordinal());
+                int errors = 0;
+                for (Recorder r : recorders) {
+                    errors += r.errors[op.ordinal()];
+                }
+                totalErrors += errors;
+                all.add(merged);
+                printRow(op.name(), merged, errors, seconds);
+            }
+            long[] total = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            printRow("TOTAL", total, totalErrors, seconds);
+        }
+
+        private long[] merge(int op) {
+            int size = 0;
+            for (Recorder r : recorders) {
+                size += r.counts[op];
+            }
+            long[] merged = new long[size];
+            int offset = 0;
+            for (Recorder r : recorders) {
+                System.arraycopy(r.samples[op], 0, merged, offset, r.counts[op]);
+                offset += r.counts[op];
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+
+        private static void printRow(String name, long[] sorted, int errors, int seconds) {
+            System.out.printf("%-16s %9d %7d %10.1f %10.2f %10.2f %10.2f%n", name, sorted.length, errors,
+                    (double) sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
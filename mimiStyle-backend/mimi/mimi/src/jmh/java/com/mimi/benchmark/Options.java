@@ -0,0 +1,37 @@
+package com.mimi.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** {@code key=value} command-line arguments for the non-JMH entry points. */
+final class Options {
+
+    private Options() {
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    static String get(Map<String, String> options, String key, String defaultValue) {
+        return options.getOrDefault(key, defaultValue);
+    }
+
+    static int getInt(Map<String, String> options, String key, int defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    static long getLong(Map<String, String> options, String key, long defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+}
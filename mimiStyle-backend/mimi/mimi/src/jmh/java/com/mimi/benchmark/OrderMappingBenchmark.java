@@ -0,0 +1,42 @@
+package com.mimi.benchmark;
+
+import com.mimi.dto.response.OrderResponse;
+import com.mimi.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** GET /api/orders/me: OrderServiceImpl.toOrderResponse over all of one buyer's orders. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderMappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start();
+        BenchmarkApp.seed(context, size);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderResponse> buyerOrders() {
+        return orderService.getOrderResponsesByBuyer(BenchmarkApp.BUYER_ID);
+    }
+}
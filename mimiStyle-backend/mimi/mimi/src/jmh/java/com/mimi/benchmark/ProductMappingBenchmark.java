@@ -0,0 +1,91 @@
+package com.mimi.benchmark;
+
+import com.mimi.controller.ProductController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/products as the controller runs it: read every row of the product_cards read model
+ * and map it to a ProductResponse, or select only a grid view's fields (?fields=). The body is
+ * written to JSON as the response would be; each benchmark returns the byte count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductMappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ProductController productController;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start();
+        BenchmarkApp.seed(context, size);
+        productController = context.getBean(ProductController.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Runs in a transaction, standing in for the open-in-view session a web request would have. */
+    @Benchmark
+    public long listProducts() throws IOException {
+        ResponseEntity<?> response = transactionTemplate.execute(s -> productController.getAllProducts(BenchmarkApp.plainGet()));
+        return write(response.getBody());
+    }
+
+    @Benchmark
+    public long listProductsGridFields() throws IOException {
+        ResponseEntity<?> response = transactionTemplate.execute(s -> productController.getAllProductFields(
+                "id,name,buyPrice,thumbnailUrl", BenchmarkApp.plainGet()));
+        return write(response.getBody());
+    }
+
+    /** The full listing is streamed by the controller itself; other bodies go through the mapper. */
+    private long write(Object body) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        if (body instanceof StreamingResponseBody streaming) {
+            streaming.writeTo(out);
+        } else {
+            objectMapper.writeValue(out, body);
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
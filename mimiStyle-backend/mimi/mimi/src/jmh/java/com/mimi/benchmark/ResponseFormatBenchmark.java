@@ -0,0 +1,83 @@
+package com.mimi.benchmark;
+
+import com.mimi.config.SmileConfig;
+import com.mimi.dto.response.OrderResponse;
+import com.mimi.dto.response.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The wire formats a client can ask for: plain JSON, gzipped JSON (server.compression) and Smile
+ * (Accept: application/x-jackson-smile, mapper from SmileConfig). Measures the server's encoding
+ * cost and the client's decoding cost for the same lists; the payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResponseFormatBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"json", "json-gzip", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private List<ProductResponse> products;
+    private List<OrderResponse> orders;
+    private byte[] productBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = format.equals("smile") ? SmileConfig.smileMapper() : JsonMapper.builder().build();
+        gzip = format.equals("json-gzip");
+        products = JsonSerializationBenchmark.sampleProducts(size);
+        orders = JsonSerializationBenchmark.sampleOrders(size);
+        productBytes = encode(products);
+        System.out.printf("%n%s, %d rows: products %,d bytes, orders %,d bytes%n",
+                format, size, productBytes.length, encode(orders).length);
+    }
+
+    @Benchmark
+    public byte[] writeProducts() throws IOException {
+        return encode(products);
+    }
+
+    @Benchmark
+    public byte[] writeOrders() throws IOException {
+        return encode(orders);
+    }
+
+    /** What the app does with a product listing it received. */
+    @Benchmark
+    public List<ProductResponse> readProducts() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(productBytes))
+                : new ByteArrayInputStream(productBytes)) {
+            return mapper.readValue(in, new TypeReference<List<ProductResponse>>() { });
+        }
+    }
+
+    private byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mimi.benchmark;
+
+import com.mimi.domain.OrderItem;
+import com.mimi.dto.response.RevenueResponse;
+import com.mimi.service.RevenueService;
+import com.mimi.service.impl.RevenueServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revenue summary for one seller: the BigDecimal reduction on its own, and the whole
+ * RevenueServiceImpl.getRevenueSummary call including the sold-items query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RevenueBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private RevenueService revenueService;
+    private List<OrderItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start();
+        BenchmarkApp.seed(context, size);
+        revenueService = context.getBean(RevenueService.class);
+
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OrderItem item = new OrderItem();
+            item.setPrice(BigDecimal.valueOf(50_000 + (i * 7_919L) % 5_000_000));
+            item.setQuantity(1 + i % 3);
+            items.add(item);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal sumRevenue() {
+        return RevenueServiceImpl.sumRevenue(items);
+    }
+
+    @Benchmark
+    public RevenueResponse revenueSummary() {
+        return revenueService.getRevenueSummary(BenchmarkApp.SELLER_ID, null, null, null);
+    }
+}
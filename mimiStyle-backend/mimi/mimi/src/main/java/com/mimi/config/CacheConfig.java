@@ -0,0 +1,92 @@
+package com.mimi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mimi.domain.SellerSummary;
+import com.mimi.metrics.Metrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.CacheSettings;
+import org.hibernate.cfg.StatisticsSettings;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level and query cache for reference data: categories, vouchers and seller
+ * summaries. Entity writes and bulk updates through Hibernate keep the cache in sync; the TTL
+ * only bounds staleness after edits made directly in the database. Hit rates are on /metrics
+ * as {@code mimi_cache_*{cache="l2_..."}}.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final List<String> ENTITY_REGIONS = List.of("category", "voucher", SellerSummary.REGION);
+    private static final long ENTITY_REGION_SIZE = 10_000;
+    private static final long QUERY_REGION_SIZE = 10_000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${reference-cache.ttl-minutes:10}") long ttlMinutes) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        for (String region : ENTITY_REGIONS) {
+            createCache(cacheManager, region, ENTITY_REGION_SIZE, ttlMinutes);
+        }
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, QUERY_REGION_SIZE, ttlMinutes);
+        // Update timestamps decide whether cached query results are stale: one entry per table, never evicted
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, -1, -1);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheHibernateCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.USE_QUERY_CACHE, true);
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(StatisticsSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exposeHitRates(ApplicationReadyEvent event) {
+        Metrics metrics = event.getApplicationContext().getBean(Metrics.class);
+        Statistics statistics = event.getApplicationContext().getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+        for (String region : ENTITY_REGIONS) {
+            metrics.cache("l2_" + region,
+                    () -> statistics.getDomainDataRegionStatistics(region).getHitCount(),
+                    () -> statistics.getDomainDataRegionStatistics(region).getMissCount());
+        }
+        metrics.cache("l2_query", statistics::getQueryCacheHitCount, statistics::getQueryCacheMissCount);
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, long maximumSize, long ttlMinutes) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttlMinutes > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
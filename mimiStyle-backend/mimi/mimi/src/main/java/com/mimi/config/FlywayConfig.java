@@ -0,0 +1,28 @@
+package com.mimi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Migrates on startup unless {@code spring.flyway.enabled=false}. Boot reads that property in a
+ * condition, which AOT fixes at image build time; checking it here as well lets the image's
+ * AppCDS training run (no database) switch migrations off.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            } else {
+                log.info("spring.flyway.enabled=false: skipping migrations");
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.mimi.config;
+
+import com.mimi.metrics.DbTimingListener;
+import com.mimi.metrics.RequestMetricsInterceptor;
+import com.mimi.metrics.SqlBudgetInspector;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestMetricsInterceptor).excludePathPatterns("/metrics", "/health/**");
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer metricsHibernateCustomizer(SqlBudgetInspector sqlBudgetInspector) {
+        return properties -> {
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, DbTimingListener.class.getName());
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, sqlBudgetInspector);
+        };
+    }
+}
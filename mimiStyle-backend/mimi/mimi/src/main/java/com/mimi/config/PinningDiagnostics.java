@@ -0,0 +1,67 @@
+package com.mimi.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier (blocking inside {@code synchronized}
+ * or native code) for longer than {@code threads.pinning-diagnostics.threshold-ms}, using the
+ * JDK's own {@code jdk.VirtualThreadPinned} JFR event. On JVMs without virtual threads the
+ * event never fires. For a one-off check, {@code -Djdk.tracePinnedThreads=full} does the same
+ * on stdout.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "threads.pinning-diagnostics.enabled", havingValue = "true")
+public class PinningDiagnostics {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final long thresholdMs;
+    private RecordingStream stream;
+
+    public PinningDiagnostics(@Value("${threads.pinning-diagnostics.threshold-ms:20}") long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}ms", thresholdMs);
+    }
+
+    private void report(RecordedEvent event) {
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            List<RecordedFrame> stack = event.getStackTrace().getFrames();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, stack.size()); i++) {
+                RecordedFrame frame = stack.get(i);
+                frames.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName()).append(" line ").append(frame.getLineNumber());
+            }
+        }
+        log.warn("Virtual thread pinned for {}ms{}", event.getDuration().toMillis(), frames);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mimi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica routing, active once {@code spring.datasource.replica.url} is set. Without it the
+ * app keeps Boot's single data source. Replica credentials default to the primary's.
+ * <p>
+ * To try it locally, point the replica at a second database (no replication needed) and set
+ * {@code spring.datasource.replica.lag-query=SELECT 0} if it is not MySQL.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primary, Environment environment) throws Exception {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("spring.datasource.replica", DataSourceProperties.class).get();
+        if (properties.getUsername() == null) {
+            properties.setUsername(primary.getUsername());
+            properties.setPassword(primary.getPassword());
+        }
+        properties.setBeanClassLoader(getClass().getClassLoader());
+        properties.afterPropertiesSet();
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${spring.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${spring.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor);
+    }
+
+    /**
+     * Spring's default keeps a session's connection until the session closes, which under
+     * open-in-view pins every transaction in a request to whichever database the first one used.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer readReplicaHibernateCustomizer() {
+        return properties -> properties.put(JdbcSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * By default a client stays on the primary for as long as the replica may lag behind it:
+     * the allowed lag plus one check interval.
+     */
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${spring.datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${spring.datasource.replica.lag-check-interval-ms:5000}") long checkIntervalMs,
+            @Value("${spring.datasource.replica.sticky-ms:-1}") long stickyMs) {
+        return new ReadYourWritesFilter(stickyMs >= 0 ? stickyMs : maxLagSeconds * 1000 + checkIntervalMs);
+    }
+}
@@ -0,0 +1,89 @@
+package com.mimi.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else to the
+ * primary. The lazy proxy only fetches a real connection at the first statement, after the
+ * transaction manager has bound the transaction, so routing follows the transaction definition.
+ * Reads fall back to the primary while the replica lags or is down, and for clients that have
+ * just written (see {@link ReadYourWritesFilter}). A request that has fallen back stays on the
+ * primary, so a later read never sees older data than an earlier one (ETag, then body).
+ * <p>
+ * Needs Hibernate to release connections after each transaction (see {@link ReadReplicaConfig}):
+ * with open-in-view the session would otherwise keep the first transaction's connection for
+ * the whole request.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        super(new Router(primary, replica, lagMonitor));
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final DataSource replica;
+        private final ReplicaLagMonitor lagMonitor;
+
+        Router(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+            this.primary = primary;
+            this.replica = replica;
+            this.lagMonitor = lagMonitor;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return route(DataSource::getConnection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return route(dataSource -> dataSource.getConnection(username, password));
+        }
+
+        private Connection route(Connector connector) throws SQLException {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                return connector.open(primary);
+            }
+            if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return readConnection(connector);
+            }
+            // Read-write transaction: once it commits, this client reads its own writes from the primary
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWritesFilter.wrote();
+                }
+            });
+            return connector.open(primary);
+        }
+
+        private Connection readConnection(Connector connector) throws SQLException {
+            if (!ReadYourWritesFilter.pinnedToPrimary()) {
+                if (lagMonitor.isUsable()) {
+                    try {
+                        return connector.open(replica);
+                    } catch (SQLException ex) {
+                        lagMonitor.markDown(ex);
+                    }
+                }
+                // The rest of the request must not go back to a replica older than this read
+                ReadYourWritesFilter.fellBackToPrimary();
+            }
+            return connector.open(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
@@ -0,0 +1,145 @@
+package com.mimi.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes for replica routing. After a request commits a write, the client gets a
+ * short-lived cookie; while it is valid, that client's reads are served by the primary so
+ * it never sees the replica before the replica has caught up with its own change.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "mimi_primary_until";
+
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final long stickyMs;
+
+    public ReadYourWritesFilter(long stickyMs) {
+        this.stickyMs = stickyMs;
+    }
+
+    /** True when the current request must read from the primary. */
+    static boolean pinnedToPrimary() {
+        RequestState state = CURRENT.get();
+        return state != null && state.primary;
+    }
+
+    /**
+     * Wraps a read-only task the current request hands to another thread, so its reads are
+     * routed as the request's own would be. Only the routing carries over, not the cookie.
+     */
+    public static <T> Supplier<T> withRequestRouting(Supplier<T> task) {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return task;
+        }
+        boolean primary = state.primary;
+        return () -> routed(state, primary, task);
+    }
+
+    /** {@link #withRequestRouting(Supplier)} for a task that takes an argument (a response stream). */
+    public static <A> Consumer<A> withRequestRouting(Consumer<A> task) {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return task;
+        }
+        boolean primary = state.primary;
+        return argument -> routed(state, primary, () -> {
+            task.accept(argument);
+            return null;
+        });
+    }
+
+    private static <T> T routed(RequestState state, boolean primary, Supplier<T> task) {
+        RequestState copy = new RequestState(state.filter, state.response);
+        copy.primary = primary;
+        copy.cookieSent = true;
+        CURRENT.set(copy);
+        try {
+            return task.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Called when a read had to fall back to the primary (replica lagging or down): the rest of
+     * the request reads from the primary too, so nothing it reads afterwards is older than what
+     * it has already read (an ETag read before its body, say). No cookie: nothing was written.
+     */
+    static void fellBackToPrimary() {
+        RequestState state = CURRENT.get();
+        if (state != null) {
+            state.primary = true;
+        }
+    }
+
+    /** Called after a read-write transaction commits on this thread. */
+    static void wrote() {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return;
+        }
+        state.primary = true;
+        if (!state.cookieSent && !state.response.isCommitted()) {
+            long until = System.currentTimeMillis() + state.filter.stickyMs;
+            Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (state.filter.stickyMs + 999) / 1000));
+            state.response.addCookie(cookie);
+            state.cookieSent = true;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestState state = new RequestState(this, response);
+        state.primary = stickyUntil(request) > System.currentTimeMillis();
+        CURRENT.set(state);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class RequestState {
+        final ReadYourWritesFilter filter;
+        final HttpServletResponse response;
+        boolean primary;
+        boolean cookieSent;
+
+        RequestState(ReadYourWritesFilter filter, HttpServletResponse response) {
+            this.filter = filter;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mimi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Polls the replica for replication lag and marks it unusable when it falls too far behind,
+ * stops replicating or cannot be reached. While unusable, read-only transactions go to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    private volatile boolean usable = true;
+    private volatile long lagSeconds = 0;
+    private boolean reportedNoStatus = false;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /** Called when a replica connection fails, so reads fall back before the next check. */
+    public void markDown(SQLException ex) {
+        if (usable) {
+            log.warn("Replica unavailable, routing reads to primary: {}", ex.getMessage());
+        }
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        Long lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            lag = rs.next() ? readLag(rs) : noReplicationStatus();
+        } catch (SQLException ex) {
+            markDown(ex);
+            return;
+        }
+        boolean nowUsable = lag != null && lag <= maxLagSeconds;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Replica back in sync (lag {}s), routing reads to replica", lag);
+            } else {
+                log.warn("Replica lag {} exceeds {}s, routing reads to primary",
+                        lag == null ? "unknown (replication stopped)" : lag + "s", maxLagSeconds);
+            }
+        }
+        lagSeconds = lag != null ? lag : -1;
+        usable = nowUsable;
+    }
+
+    /** MySQL 8.0.22+ names the column Seconds_Behind_Source, older servers Seconds_Behind_Master. */
+    private Long readLag(ResultSet rs) throws SQLException {
+        int column;
+        try {
+            column = rs.findColumn("Seconds_Behind_Source");
+        } catch (SQLException ex) {
+            try {
+                column = rs.findColumn("Seconds_Behind_Master");
+            } catch (SQLException notMySql) {
+                column = 1;
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+
+    // Two independent local databases (no replication configured) report nothing: treat as in sync
+    private Long noReplicationStatus() {
+        if (!reportedNoStatus) {
+            log.info("Replica reports no replication status; treating it as in sync");
+            reportedNoStatus = true;
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mimi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.smile.SmileFactory;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+/**
+ * Smile (binary JSON) for clients sending {@code Accept: application/x-jackson-smile}, such as
+ * the Android app. Same data model as the JSON responses; besides repeated field names, repeated
+ * short string values (status, trade type, seller and category names) are written as
+ * back-references. JSON stays the default and is gzipped by the server (server.compression).
+ */
+@Configuration
+public class SmileConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /** Also used by streamed responses and the format benchmark. */
+    public static SmileMapper smileMapper() {
+        return SmileMapper.builder(SmileFactory.builder()
+                        .enable(SmileWriteFeature.CHECK_SHARED_NAMES, SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.mimi.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * MVC async support for streamed responses (StreamingResponseBody lists). Each running stream
+ * holds a read-only transaction and its pooled connection until the client has read the last
+ * byte, so they get their own small pool ({@code streaming.threads}, kept below the Hikari pool
+ * size) instead of Boot's shared applicationTaskExecutor. Streams over the queue are rejected
+ * rather than waiting for a connection.
+ * <p>
+ * {@code spring.mvc.async.request-timeout} bounds a stream: the async request times out and
+ * {@code JsonArrayStreamer} stops reading rows at the same limit, which is therefore the longest
+ * a connection is held by one export.
+ */
+@Slf4j
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration requestTimeout;
+
+    public StreamingConfig(@Value("${streaming.threads:4}") int threads,
+                           @Value("${streaming.queue-size:50}") int queueSize,
+                           @Value("${spring.mvc.async.request-timeout:5m}") Duration requestTimeout) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(queueSize);
+        this.executor.setThreadNamePrefix("stream-");
+        this.executor.initialize();
+        this.requestTimeout = requestTimeout;
+        log.info("Streamed responses: {} threads, queue {}, timeout {}", threads, queueSize, requestTimeout);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Runs after Boot's configurer, so this replaces applicationTaskExecutor for MVC async
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mimi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Virtual-thread mode. {@code spring.threads.virtual.enabled=true} makes Spring Boot run Tomcat
+ * requests and {@code @Scheduled} jobs on virtual threads (Java 21+ runtime only; on older JVMs Boot
+ * ignores it and we log that). Streamed responses keep their bounded pool ({@link StreamingConfig}). In that mode the JDBC limit below
+ * is on by default, since nothing else bounds how many requests wait for a connection.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnExpression("${jdbc.concurrency-limit.enabled:${spring.threads.virtual.enabled:false}}")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the pools themselves, so the primary and replica are each limited once
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // Matched to the pool size: a permit means a connection is (or is about to be) free
+                int permits = environment.getProperty("jdbc.concurrency-limit.permits", Integer.class,
+                        hikari.getMaximumPoolSize());
+                log.info("Limiting JDBC concurrency on '{}' to {} connections", beanName, permits);
+                return new ConcurrencyLimitedDataSource(hikari, permits, hikari.getConnectionTimeout());
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        boolean requested = event.getApplicationContext().getEnvironment()
+                .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mimi.controller;
+
+import com.mimi.service.DataInitializationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Probes for container health checks and rolling deploys. Ready means started, not shutting
+ * down and done seeding; only then should the instance receive traffic.
+ */
+@RestController
+@RequestMapping("/health")
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final ApplicationAvailability availability;
+    private final DataInitializationService dataInitializationService;
+
+    @GetMapping("/live")
+    public ResponseEntity<Map<String, String>> live() {
+        return status(availability.getLivenessState() == LivenessState.CORRECT);
+    }
+
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, String>> ready() {
+        return status(availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC
+                && dataInitializationService.isSeeded());
+    }
+
+    private static ResponseEntity<Map<String, String>> status(boolean up) {
+        return up
+                ? ResponseEntity.ok(Map.of("status", "UP"))
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("status", "DOWN"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.mimi.controller;
+
+import com.mimi.config.ReadYourWritesFilter;
+import com.mimi.config.SmileConfig;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a large list endpoint as a JSON (or Smile, see {@link #negotiate}) array while the rows
+ * are read, instead of building the whole List first. Rows come from a repository {@link Stream}
+ * opened in a read-only transaction on the MVC async thread; every {@code streaming.flush-every} rows the chunk is mapped, written
+ * and flushed, and the persistence context is cleared, so memory stays flat however many rows
+ * there are. Mapping a chunk at a time lets the mapper batch its lookups (images).
+ * <p>
+ * The status and headers are sent with the first flush: a failure after that can only cut the
+ * array short, which the client sees as a truncated document.
+ * <p>
+ * Streams run on the pool from {@link com.mimi.config.StreamingConfig}. The transaction (and its
+ * connection) lasts as long as the client takes to read, so it is capped at
+ * {@code spring.mvc.async.request-timeout}: past that the stream is aborted between chunks and
+ * any statement still running is cancelled by the transaction timeout.
+ */
+@Slf4j
+@Component
+class JsonArrayStreamer {
+
+    private final Map<MediaType, ObjectMapper> mappers;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushEvery;
+    private final Duration maxDuration;
+
+    JsonArrayStreamer(JsonMapper jsonMapper,
+                      EntityManager entityManager,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${streaming.flush-every:200}") int flushEvery,
+                      @Value("${spring.mvc.async.request-timeout:5m}") Duration maxDuration) {
+        this.mappers = Map.of(MediaType.APPLICATION_JSON, jsonMapper,
+                SmileConfig.APPLICATION_SMILE, SmileConfig.smileMapper());
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) Math.max(1, maxDuration.toSeconds()));
+        this.flushEvery = flushEvery;
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Smile when the Accept header asks for it ahead of JSON (higher quality, or listed first at
+     * the same quality), otherwise JSON. Use the result as the response's content type.
+     */
+    MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        try {
+            MediaType best = MediaType.APPLICATION_JSON;
+            double bestQuality = 0;
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                MediaType format = type.equalsTypeAndSubtype(SmileConfig.APPLICATION_SMILE) ? SmileConfig.APPLICATION_SMILE
+                        : type.includes(MediaType.APPLICATION_JSON) ? MediaType.APPLICATION_JSON : null;
+                if (format != null && type.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = type.getQualityValue();
+                }
+            }
+            return best;
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+    }
+
+    /** Streams {@code rows} one by one in {@code format} (from {@link #negotiate}). */
+    <T, R> StreamingResponseBody stream(MediaType format, Supplier<Stream<T>> rows, Function<T, R> mapper) {
+        return streamChunks(format, rows, chunk -> chunk.stream().map(mapper).toList());
+    }
+
+    /** Streams {@code rows} in {@code format}, mapping up to flush-every of them at a time. */
+    <T, R> StreamingResponseBody streamChunks(MediaType format, Supplier<Stream<T>> rows,
+                                              Function<List<T>, List<R>> mapper) {
+        ObjectMapper objectMapper = mappers.getOrDefault(format, mappers.get(MediaType.APPLICATION_JSON));
+        // Routed as the request was when it read the ETag (see ReadWriteRoutingDataSource)
+        Consumer<OutputStream> body = ReadYourWritesFilter.withRequestRouting(out -> transactionTemplate.executeWithoutResult(status -> {
+            long deadline = System.nanoTime() + maxDuration.toNanos();
+            // The servlet container owns the response stream
+            try (Stream<T> source = rows.get();
+                 JsonGenerator generator = objectMapper.writer()
+                         .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                         .createGenerator(out)) {
+                generator.writeStartArray();
+                List<T> chunk = new ArrayList<>(flushEvery);
+                Iterator<T> iterator = source.iterator();
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == flushEvery || !iterator.hasNext()) {
+                        for (R element : mapper.apply(chunk)) {
+                            generator.writePOJO(element);
+                        }
+                        generator.flush();
+                        chunk.clear();
+                        entityManager.clear();
+                        if (System.nanoTime() - deadline > 0) {
+                            throw new IllegalStateException("exceeded " + maxDuration + ", releasing the connection");
+                        }
+                    }
+                }
+                generator.writeEndArray();
+            } catch (RuntimeException ex) {
+                log.warn("Streamed response aborted: {}", ex.getMessage());
+                throw ex;
+            }
+        }));
+        return body::accept;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mimi.controller;
+
+import com.mimi.metrics.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/** Prometheus scrape endpoint; by default only answers requests from the same host. */
+@RestController
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain; version=0.0.4; charset=utf-8");
+
+    private final Metrics metrics;
+    private final boolean localOnly;
+
+    public MetricsController(Metrics metrics, @Value("${metrics.local-only:true}") boolean localOnly) {
+        this.metrics = metrics;
+        this.localOnly = localOnly;
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<String> scrape(HttpServletRequest request) {
+        if (localOnly && !isLoopback(request.getRemoteAddr())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metrics.scrape());
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return InetAddress.getByName(address).isLoopbackAddress();
+        } catch (UnknownHostException ex) {
+            return false;
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.mimi.controller;
 
 import com.mimi.domain.Order;
 import com.mimi.dto.request.CreateOrderRequest;
+import com.mimi.dto.request.QuoteRequest;
 import com.mimi.dto.request.UpdateOrderStatusRequest;
 import com.mimi.dto.response.OrderResponse;
+import com.mimi.dto.response.QuoteResponse;
+import com.mimi.metrics.SqlBudget;
+import com.mimi.service.CheckoutService;
 import com.mimi.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,21 +22,51 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final CheckoutService checkoutService;
 
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request) {
-        Order order = orderService.createOrder(request);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<?> createOrder(@RequestBody CreateOrderRequest request) {
+        try {
+            Order order = orderService.createOrder(request);
+            return ResponseEntity.ok(orderService.toOrderResponse(order));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /** Prices a cart (lines, shipping, best or requested voucher) without creating an order. */
+    @SqlBudget(5)
+    @PostMapping("/quote")
+    public ResponseEntity<?> quote(@RequestBody QuoteRequest request) {
+        try {
+            QuoteResponse quote = checkoutService.quote(request);
+            return ResponseEntity.ok(quote);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<Map<String, Object>> updateOrderStatus(@PathVariable Long id, @RequestBody UpdateOrderStatusRequest request) {
-        orderService.updateOrderStatus(id, request);
-        return ResponseEntity.ok(Map.of("success", true, "message", "Đã cập nhật trạng thái đơn hàng"));
+        try {
+            orderService.updateOrderStatus(id, request);
+            return ResponseEntity.ok(Map.of("success", true, "message", "Đã cập nhật trạng thái đơn hàng"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
+    /** {@code fields=id,status,totalAmount} returns only those fields (id always); items only when asked for. */
     @GetMapping("/me")
-    public ResponseEntity<List<OrderResponse>> getMyOrders(@RequestParam Long buyerId) {
+    public ResponseEntity<?> getMyOrders(@RequestParam Long buyerId, @RequestParam(required = false) String fields) {
+        try {
+            List<String> selected = orderService.resolveOrderFields(fields);
+            if (selected != null) {
+                return ResponseEntity.ok(orderService.getOrderFieldsByBuyer(buyerId, selected));
+            }
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
         List<OrderResponse> orders = orderService.getOrderResponsesByBuyer(buyerId);
         return ResponseEntity.ok(orders);
     }
@@ -0,0 +1,98 @@
+package com.mimi.controller;
+
+import com.mimi.dto.request.CreateCommentRequest;
+import com.mimi.dto.request.CreatePostRequest;
+import com.mimi.dto.response.CommentResponse;
+import com.mimi.dto.response.CursorPage;
+import com.mimi.dto.response.LikeResponse;
+import com.mimi.dto.response.PostResponse;
+import com.mimi.metrics.SqlBudget;
+import com.mimi.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/posts")
+@RequiredArgsConstructor
+public class PostController {
+
+    private final PostService postService;
+
+    @SqlBudget(5)
+    @GetMapping
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CursorPage<PostResponse> page = postService.getFeed(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /** Posts ranked by time-decayed likes and comments. */
+    @SqlBudget(5)
+    @GetMapping("/trending")
+    public ResponseEntity<List<PostResponse>> getTrending(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.getTrending(limit));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createPost(@RequestBody CreatePostRequest request) {
+        try {
+            PostResponse post = postService.createPost(request);
+            return ResponseEntity.ok(post);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @SqlBudget(4)
+    @GetMapping("/{postId}/comments")
+    public ResponseEntity<?> getComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            CursorPage<CommentResponse> page = postService.getComments(postId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/{postId}/comments")
+    public ResponseEntity<?> addComment(@PathVariable Long postId, @RequestBody CreateCommentRequest request) {
+        try {
+            CommentResponse comment = postService.addComment(postId, request);
+            return ResponseEntity.ok(comment);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @PutMapping("/{postId}/likes")
+    public ResponseEntity<?> likePost(@PathVariable Long postId, @RequestParam Long userId) {
+        try {
+            LikeResponse like = postService.likePost(postId, userId);
+            return ResponseEntity.ok(like);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{postId}/likes")
+    public ResponseEntity<?> unlikePost(@PathVariable Long postId, @RequestParam Long userId) {
+        try {
+            LikeResponse like = postService.unlikePost(postId, userId);
+            return ResponseEntity.ok(like);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+}
@@ -1,20 +1,33 @@
 package com.mimi.controller;
 
+import com.mimi.config.SmileConfig;
 import com.mimi.domain.Product;
+import com.mimi.domain.ProductCard;
+import com.mimi.domain.ProductChange;
 import com.mimi.domain.ProductImage;
+import com.mimi.dto.response.ProductBatchResponse;
+import com.mimi.dto.response.ProductChangesResponse;
 import com.mimi.dto.response.ProductResponse;
+import com.mimi.metrics.SqlBudget;
 import com.mimi.repository.ProductImageRepository;
+import com.mimi.repository.SellerSummaryRepository;
 import com.mimi.service.ProductService;
+import com.mimi.service.impl.CatalogGenerations;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -23,9 +36,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -33,8 +51,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductController {
 
+    /** Change log entries per /changes page. */
+    private static final int CHANGES_PAGE_SIZE = 500;
+
     private final ProductService productService;
     private final ProductImageRepository productImageRepository;
+    private final SellerSummaryRepository sellerSummaryRepository;
+    private final CatalogGenerations catalogGenerations;
+    private final JsonArrayStreamer jsonArrayStreamer;
     @Value("${file.upload-dir}")
     private String uploadDir;
 
@@ -43,27 +67,179 @@ public class ProductController {
         System.out.println("UPLOAD DIR = " + uploadDir);
     }
 
+    /**
+     * Listings read the product_cards read model: one query, no joins or per-product lookups.
+     * Their ETag is the catalog generation; a matching If-None-Match is answered with 304 first.
+     * {@code fields=id,name,buyPrice,thumbnailUrl} returns only those fields (id always), and
+     * only their columns are selected.
+     */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ProductResponse>> getUserProducts(@PathVariable Long userId) {
-        List<Product> products = productService.getProductsByUserId(userId);
-        List<ProductResponse> productResponses = products.stream().map(this::mapToProductResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productResponses);
+    public ResponseEntity<?> getUserProducts(@PathVariable Long userId,
+                                             @RequestParam(required = false) String fields,
+                                             WebRequest request) {
+        try {
+            List<String> selected = productService.resolveProductFields(fields);
+            String etag = catalogEtag(selected, request);
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            Object body = selected != null ? productService.getProductCardFieldsByUserId(userId, selected)
+                    : productService.getProductCardsByUserId(userId).stream().map(this::mapToProductResponse)
+                            .collect(Collectors.toList());
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(body);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Full listing, streamed as the cards are read. X-Change-Token is read before the listing, so
+     * passing it to /changes later returns at least everything the listing may have missed.
+     */
+    @GetMapping(params = "!fields")
+    public ResponseEntity<StreamingResponseBody> getAllProducts(WebRequest request) {
+        String etag = catalogEtag(null, request);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        MediaType format = jsonArrayStreamer.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        // checkNotModified has set the ETag header; the streaming handler would add it a second time
+        return ResponseEntity.ok()
+                .header("X-Change-Token", changeToken())
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format)
+                .body(jsonArrayStreamer.stream(format, productService::streamProductCards, this::mapToProductResponse));
+    }
+
+    /** Sparse listing (?fields=), one projection query. */
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> getAllProductFields(@RequestParam String fields, WebRequest request) {
+        try {
+            List<String> selected = productService.resolveProductFields(fields);
+            String etag = catalogEtag(selected, request);
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            // An empty fields= means every field; only the parameter-less listing is streamed
+            Object body = selected != null ? productService.getProductCardFields(selected)
+                    : productService.getProductCards().stream().map(this::mapToProductResponse)
+                            .collect(Collectors.toList());
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .header("X-Change-Token", changeToken())
+                    .body(body);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
-    @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        List<ProductResponse> productResponses = products.stream().map(this::mapToProductResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(productResponses);
+    /**
+     * Delta sync: products created, updated, hidden or deleted since {@code since} (a token from
+     * X-Change-Token or a previous nextToken). Without {@code since} only the current token is
+     * returned. 410 Gone when the token predates the retained log: reload the full listing.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getProductChanges(@RequestParam(required = false) String since) {
+        try {
+            if (since == null || since.isBlank()) {
+                return ResponseEntity.ok(new ProductChangesResponse(List.of(), List.of(), changeToken(), false));
+            }
+            long token = parseChangeToken(since);
+            Long oldest = productService.getOldestChangeToken();
+            if (oldest != null && token < oldest - 1) {
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .body(Map.of("message", "Change token expired, reload the product list"));
+            }
+
+            List<ProductChange> changes = productService.getChangesSince(token, CHANGES_PAGE_SIZE + 1);
+            boolean hasMore = changes.size() > CHANGES_PAGE_SIZE;
+            if (hasMore) {
+                changes = changes.subList(0, CHANGES_PAGE_SIZE);
+            }
+            Set<Long> productIds = new LinkedHashSet<>();
+            changes.forEach(change -> productIds.add(change.getProductId()));
+            String nextToken = changes.isEmpty() ? String.valueOf(token)
+                    : String.valueOf(changes.get(changes.size() - 1).getId());
+            if (productIds.isEmpty()) {
+                return ResponseEntity.ok(new ProductChangesResponse(List.of(), List.of(), nextToken, false));
+            }
+
+            // The card holds the product's current state; no card means it was deleted
+            Map<Long, ProductCard> cards = productService.getProductCardsByIds(productIds).stream()
+                    .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+            List<ProductResponse> changed = new ArrayList<>(cards.size());
+            List<Long> deletedIds = new ArrayList<>();
+            for (Long id : productIds) {
+                ProductCard card = cards.get(id);
+                if (card != null) {
+                    changed.add(mapToProductResponse(card));
+                } else {
+                    deletedIds.add(id);
+                }
+            }
+            return ResponseEntity.ok(new ProductChangesResponse(changed, deletedIds, nextToken, hasMore));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /** Products for a cart, wishlist or recently viewed list in one request: ?ids=3,1,2 */
+    @SqlBudget(2)
+    @GetMapping("/batch")
+    public ResponseEntity<?> getProductsBatch(@RequestParam List<Long> ids,
+                                              @RequestParam(required = false) String fields,
+                                              WebRequest request) {
+        List<String> selected;
+        try {
+            selected = productService.resolveProductFields(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+        String etag = catalogEtag(selected, request);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity<?> response = productsBatch(ids, selected);
+        return response.getStatusCode().is2xxSuccessful()
+                ? ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response.getBody()) : response;
+    }
+
+    /** Same as GET /batch, with the ids as a JSON array body for lists too long for a URL. */
+    @SqlBudget(2)
+    @PostMapping("/batch")
+    public ResponseEntity<?> postProductsBatch(@RequestBody List<Long> ids,
+                                               @RequestParam(required = false) String fields) {
+        try {
+            return productsBatch(ids, productService.resolveProductFields(fields));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
     }
 
+    /** ETag from the product's version: a repeat view costs one indexed lookup and no body. */
+    @SqlBudget(8)
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest request) {
+        List<String> selected;
+        try {
+            selected = productService.resolveProductFields(fields);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+        Long version = productService.getProductVersion(id);
+        String etag = version != null ? "W/\"p" + id + "-" + version + variantTag(selected, request) + "\"" : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;
+        }
+        if (selected != null) {
+            List<Map<String, Object>> found = productService.getProductCardFieldsByIds(List.of(id), selected);
+            return found.isEmpty() ? ResponseEntity.notFound().build()
+                    : ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(found.get(0));
+        }
         Product product = productService.getProductById(id);
         ProductResponse response = mapToProductResponse(product);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
 
     @PostMapping
@@ -167,13 +343,19 @@ public class ProductController {
         if (wasThumbnail) {
             resetThumbnail(productId);
         }
+        productService.markChanged(productId);
 
         return ResponseEntity.ok("Đã xóa ảnh thành công");
     }
 
     /* ================== GET IMAGE ================== */
+    /**
+     * Served on the request thread: the file is copied straight from disk by the resource
+     * converter (no full read into memory), and in virtual-thread mode a slow client only
+     * parks a virtual thread. Keeps image traffic off the shared MVC async executor.
+     */
     @GetMapping("/images/{filename:.+}")
-    public ResponseEntity<byte[]> getProductImage(@PathVariable String filename) {
+    public ResponseEntity<Resource> getProductImage(@PathVariable String filename) {
 
         if (!isValidFilename(filename)) {
             return ResponseEntity.badRequest().build();
@@ -186,13 +368,12 @@ public class ProductController {
         }
 
         try {
-            byte[] data = Files.readAllBytes(path);
             String type = Optional.ofNullable(Files.probeContentType(path))
                     .orElse("application/octet-stream");
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_TYPE, type)
-                    .body(data);
+                    .body(new FileSystemResource(path));
 
         } catch (IOException e) {
             return ResponseEntity.internalServerError().build();
@@ -232,6 +413,7 @@ public class ProductController {
     }
 
     /* ================== SAVE IMAGE DB ================== */
+    @Transactional
     @PostMapping("/{id}/images")
     public ResponseEntity<List<ProductImage>> saveProductImages(
             @PathVariable Long id,
@@ -263,13 +445,85 @@ public class ProductController {
             thumbnail = false;
         }
 
-        return ResponseEntity.ok(productImageRepository.saveAll(images));
+        List<ProductImage> saved = productImageRepository.saveAll(images);
+        productService.markChanged(id);
+        return ResponseEntity.ok(saved);
     }
 
     /* ===================================================== */
     /* ================== HELPER METHODS ==================== */
     /* ===================================================== */
 
+    /** One read of product_cards for all ids; results follow the request order, duplicates once. */
+    private ResponseEntity<?> productsBatch(List<Long> ids, List<String> fields) {
+        try {
+            List<Long> requested = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+            if (fields != null) {
+                Map<Long, Map<String, Object>> found = productService.getProductCardFieldsByIds(requested, fields).stream()
+                        .collect(Collectors.toMap(product -> (Long) product.get("id"), Function.identity()));
+                List<Map<String, Object>> products = new ArrayList<>(found.size());
+                List<Long> missingIds = new ArrayList<>();
+                for (Long id : requested) {
+                    Map<String, Object> product = found.get(id);
+                    if (product != null) {
+                        products.add(product);
+                    } else {
+                        missingIds.add(id);
+                    }
+                }
+                return ResponseEntity.ok(new ProductBatchResponse(products, missingIds));
+            }
+            Map<Long, ProductCard> cards = productService.getProductCardsByIds(requested).stream()
+                    .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+            List<ProductResponse> products = new ArrayList<>(cards.size());
+            List<Long> missingIds = new ArrayList<>();
+            for (Long id : requested) {
+                ProductCard card = cards.get(id);
+                if (card != null) {
+                    products.add(mapToProductResponse(card));
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            return ResponseEntity.ok(new ProductBatchResponse(products, missingIds));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    private String changeToken() {
+        Long latest = productService.getLatestChangeToken();
+        return String.valueOf(latest != null ? latest : 0L);
+    }
+
+    private long parseChangeToken(String since) {
+        try {
+            long token = Long.parseLong(since.trim());
+            if (token < 0) {
+                throw new IllegalArgumentException("Invalid change token");
+            }
+            return token;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid change token");
+        }
+    }
+
+    private String catalogEtag(List<String> fields, WebRequest request) {
+        Long generation = catalogGenerations.current(CatalogGenerations.CATALOG);
+        return generation != null ? "W/\"c" + generation + variantTag(fields, request) + "\"" : null;
+    }
+
+    /**
+     * A sparse or Smile body is another representation of the same data, so the field list and
+     * the format are part of its ETag. The ETags are weak: the gzipped JSON differs byte for byte,
+     * and Tomcat does not compress responses that carry a strong ETag.
+     */
+    private String variantTag(List<String> fields, WebRequest request) {
+        String tag = fields == null ? "" : ";" + String.join(".", fields);
+        boolean smile = SmileConfig.APPLICATION_SMILE.equals(jsonArrayStreamer.negotiate(request.getHeader(HttpHeaders.ACCEPT)));
+        return smile ? tag + ";smile" : tag;
+    }
+
     private boolean isValidFilename(String filename) {
         return filename != null
                 && !filename.isBlank()
@@ -315,6 +569,30 @@ public class ProductController {
                 ext;
     }
 
+    private ProductResponse mapToProductResponse(ProductCard card) {
+        ProductResponse response = new ProductResponse();
+        response.setId(card.getProductId());
+        response.setName(card.getName());
+        response.setDescription(card.getDescription());
+        response.setConditionPercentage(card.getConditionPercentage());
+        response.setTradeType(card.getTradeType());
+        response.setBuyPrice(card.getBuyPrice());
+        response.setRentPrice(card.getRentPrice());
+        response.setRentUnit(card.getRentUnit());
+        response.setStatus(card.getStatus());
+        response.setAddressContact(card.getAddressContact());
+        response.setFeatured(card.getFeatured());
+        response.setIsNew(card.getIsNew());
+        response.setCreatedAt(card.getCreatedAt());
+        response.setSellerId(card.getSellerId());
+        response.setSellerName(card.getSellerName());
+        response.setCategoryId(card.getCategoryId());
+        response.setCategoryName(card.getCategoryName());
+        List<String> images = card.getImageList();
+        response.setImages(images.isEmpty() ? null : images);
+        return response;
+    }
+
     private ProductResponse mapToProductResponse(Product product) {
         ProductResponse response = new ProductResponse();
         response.setId(product.getId());
@@ -332,8 +610,11 @@ public class ProductController {
         response.setCreatedAt(product.getCreatedAt());
 
         if (product.getSeller() != null) {
-            response.setSellerId(product.getSeller().getId());
-            response.setSellerName(product.getSeller().getFullName());
+            // Tên người bán lấy từ second-level cache thay vì load User (getId() không khởi tạo proxy)
+            Long sellerId = product.getSeller().getId();
+            response.setSellerId(sellerId);
+            sellerSummaryRepository.findById(sellerId)
+                    .ifPresent(seller -> response.setSellerName(seller.getFullName()));
         }
 
         if (product.getCategory() != null) {
@@ -1,15 +1,16 @@
 package com.mimi.controller;
 
 import com.mimi.dto.response.RevenueResponse;
-import com.mimi.dto.response.SoldProductResponse;
 import com.mimi.service.RevenueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/revenue")
@@ -17,6 +18,7 @@ import java.util.List;
 public class RevenueController {
 
     private final RevenueService revenueService;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     @GetMapping("/summary/{userId}")
     public ResponseEntity<RevenueResponse> getRevenueSummary(
@@ -29,14 +31,20 @@ public class RevenueController {
         return ResponseEntity.ok(revenue);
     }
 
+    /** Streamed as the order lines are read; images are looked up once per flushed chunk. */
     @GetMapping("/sold-products/{userId}")
-    public ResponseEntity<List<SoldProductResponse>> getSoldProducts(
+    public ResponseEntity<StreamingResponseBody> getSoldProducts(
             @PathVariable Long userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         
-        List<SoldProductResponse> soldProducts = revenueService.getSoldProducts(userId, startDate, endDate, category);
-        return ResponseEntity.ok(soldProducts);
+        MediaType format = jsonArrayStreamer.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format)
+                .body(jsonArrayStreamer.streamChunks(format,
+                        () -> revenueService.streamSoldItems(userId, startDate, endDate, category),
+                        revenueService::toSoldProductResponses));
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.mimi.controller;
+
+import com.mimi.domain.enums.OrderStatus;
+import com.mimi.metrics.SqlBudget;
+import com.mimi.service.OrderService;
+import com.mimi.service.SellerDashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sellers")
+@RequiredArgsConstructor
+public class SellerController {
+
+    private final SellerDashboardService sellerDashboardService;
+    private final OrderService orderService;
+
+    /**
+     * Product counts by status, revenue summary, recent orders and low-stock variants in one
+     * document, read in parallel. Sections that did not make it are listed in unavailableSections.
+     */
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<?> getDashboard(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(sellerDashboardService.getDashboard(id));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+
+    /** Orders holding the seller's products, newest first, with the seller's lines; pass nextCursor for the next page. */
+    @SqlBudget(6)
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<?> getOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(orderService.getSellerOrders(id, status, startDate, endDate, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+    }
+}
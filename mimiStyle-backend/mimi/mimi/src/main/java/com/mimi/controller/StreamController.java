@@ -0,0 +1,54 @@
+package com.mimi.controller;
+
+import com.mimi.event.EventBus;
+import com.mimi.event.EventTopics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events streams, replacing polling of /api/orders/me and of post comments.
+ * Emitters run on async servlet support, so an idle stream holds no request thread.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+public class StreamController {
+
+    private final EventBus eventBus;
+
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    /** Emits "order-status" events for the buyer's orders. */
+    @GetMapping(value = "/orders", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@RequestParam Long buyerId) {
+        return subscribe(EventTopics.buyerOrders(buyerId));
+    }
+
+    /** Emits "comment" events for new comments on the post. */
+    @GetMapping(value = "/posts/{postId}/comments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamComments(@PathVariable Long postId) {
+        return subscribe(EventTopics.postComments(postId));
+    }
+
+    private SseEmitter subscribe(String topic) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        EventBus.Subscriber subscriber = eventBus.subscribe(topic, event -> {
+            if (event.isHeartbeat()) {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.id()))
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        return emitter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.mimi.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * The streaming pool (see {@link com.mimi.config.StreamingConfig}) is full: answer 503 with a
+ * retry hint instead of a 500, nothing has been written yet.
+ */
+@Slf4j
+@RestControllerAdvice
+class StreamingRejectedHandler {
+
+    @ExceptionHandler(TaskRejectedException.class)
+    ResponseEntity<Map<String, String>> onRejected(TaskRejectedException ex) {
+        log.warn("Streamed response rejected, pool is full");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("message", "Server is busy, please retry"));
+    }
+}
@@ -5,13 +5,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,10 +19,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.mimi.domain.User;
 import com.mimi.dto.request.UpdateUserRequest;
@@ -37,16 +39,18 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
     /**
-     * List all users (for ADMIN). Returns all users in the system.
+     * List all users (for ADMIN). Returns all users in the system, streamed as they are read.
      */
     @GetMapping("/list")
-    public ResponseEntity<List<UserResponse>> listUsers() {
-        List<UserResponse> list = userRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(list);
+    public ResponseEntity<StreamingResponseBody> listUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType format = jsonArrayStreamer.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format)
+                .body(jsonArrayStreamer.stream(format, userRepository::streamAll, this::toResponse));
     }
 
     /**
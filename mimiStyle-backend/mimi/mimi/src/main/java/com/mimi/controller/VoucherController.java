@@ -1,13 +1,17 @@
 package com.mimi.controller;
 
 import com.mimi.domain.Voucher;
+import com.mimi.metrics.SqlBudget;
 import com.mimi.repository.VoucherRepository;
+import com.mimi.service.impl.CatalogGenerations;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -16,11 +20,29 @@ import java.util.List;
 public class VoucherController {
 
     private final VoucherRepository voucherRepository;
+    private final CatalogGenerations catalogGenerations;
 
+    /**
+     * ETag: voucher generation (bumped on every voucher write, usage included) plus the next
+     * expiry, since a voucher expiring changes the list without any write. Weak, so the JSON can
+     * still be gzipped (see ProductController).
+     */
+    @SqlBudget(3)
     @GetMapping("/applicable")
     public ResponseEntity<List<Voucher>> getApplicableVouchers(
-            @RequestParam(name = "subtotal", required = false, defaultValue = "0") BigDecimal subtotal) {
-        List<Voucher> vouchers = voucherRepository.findApplicable(LocalDateTime.now(), subtotal);
-        return ResponseEntity.ok(vouchers);
+            @RequestParam(name = "subtotal", required = false, defaultValue = "0") BigDecimal subtotal,
+            WebRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        Long generation = catalogGenerations.current(CatalogGenerations.VOUCHERS);
+        String etag = null;
+        if (generation != null) {
+            LocalDateTime nextExpiry = voucherRepository.findNextExpiration(now);
+            etag = "W/\"v" + generation + "-" + (nextExpiry != null ? nextExpiry.toEpochSecond(ZoneOffset.UTC) : 0) + "\"";
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        List<Voucher> vouchers = voucherRepository.findApplicable(now, subtotal);
+        return ResponseEntity.ok().eTag(etag).body(vouchers);
     }
 }
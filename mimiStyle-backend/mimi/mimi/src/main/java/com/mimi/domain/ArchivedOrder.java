@@ -0,0 +1,105 @@
+package com.mimi.domain;
+
+import com.mimi.domain.enums.OrderStatus;
+import com.mimi.domain.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A closed order moved out of {@code orders} by OrderArchiver. Read-only; buyer and voucher are
+ * kept as plain ids because the archive has no foreign keys.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_buyer_created_at", columnList = "buyer_id, created_at")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "buyer_id", nullable = false)
+    private Long buyerId;
+
+    @Column(name = "voucher_id")
+    private Long voucherId;
+
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "shipping_fee", precision = 19, scale = 2)
+    private BigDecimal shippingFee;
+
+    @Column(name = "discount_amount", precision = 19, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Column(name = "final_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal finalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "shipping_name", nullable = false)
+    private String shippingName;
+
+    @Column(name = "shipping_phone", nullable = false)
+    private String shippingPhone;
+
+    @Column(name = "shipping_address", nullable = false)
+    private String shippingAddress;
+
+    @Column(columnDefinition = "TEXT")
+    private String note;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    private List<ArchivedOrderItem> orderItems = new ArrayList<>();
+
+    /** Detached {@link Order} with the archived values and items, so it renders like a live order. */
+    public Order toOrder() {
+        Order order = toOrderHeader();
+        order.setOrderItems(orderItems.stream().map(item -> item.toOrderItem(order)).toList());
+        return order;
+    }
+
+    /** Same as {@link #toOrder()} without the items. */
+    public Order toOrderHeader() {
+        Order order = new Order();
+        order.setId(id);
+        User buyer = new User();
+        buyer.setId(buyerId);
+        order.setBuyer(buyer);
+        order.setTotalAmount(totalAmount);
+        order.setShippingFee(shippingFee);
+        order.setDiscountAmount(discountAmount);
+        order.setFinalAmount(finalAmount);
+        order.setPaymentMethod(paymentMethod);
+        order.setStatus(status);
+        order.setShippingName(shippingName);
+        order.setShippingPhone(shippingPhone);
+        order.setShippingAddress(shippingAddress);
+        order.setNote(note);
+        order.setCreatedAt(createdAt);
+        return order;
+    }
+}
@@ -0,0 +1,98 @@
+package com.mimi.domain;
+
+import com.mimi.domain.enums.OrderType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A line of an {@link ArchivedOrder}. Carries the order's created_at so date-range queries can
+ * filter (and, on MySQL, prune partitions) without joining the order first. The seller and the
+ * product name are copied too: the product may be deleted later, and the archive has no foreign
+ * keys to stop it.
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = {
+    @Index(name = "idx_order_items_archive_seller_created", columnList = "seller_id, order_created_at"),
+    @Index(name = "idx_order_items_archive_order", columnList = "order_id")
+})
+@Getter
+@NoArgsConstructor
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private ArchivedOrder order;
+
+    @Column(name = "order_created_at", nullable = false)
+    private LocalDateTime orderCreatedAt;
+
+    /**
+     * Null once the product has been deleted; see {@link #toOrderItem(Order)}. EAGER because
+     * Hibernate cannot proxy a row that may be missing; the queries fetch-join it anyway.
+     */
+    @ManyToOne(fetch = FetchType.EAGER)
+    @NotFound(action = NotFoundAction.IGNORE)
+    @JoinColumn(name = "product_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Product product;
+
+    @Column(name = "product_id", nullable = false, insertable = false, updatable = false)
+    private Long productId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    @Column(name = "variant_id")
+    private Long variantId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_type", nullable = false)
+    private OrderType orderType;
+
+    @Column(name = "rent_duration")
+    private Integer rentDuration;
+
+    /** Detached {@link OrderItem} attached to a header-only copy of its order. */
+    public OrderItem toOrderItem() {
+        return toOrderItem(order.toOrderHeader());
+    }
+
+    OrderItem toOrderItem(Order owner) {
+        OrderItem item = new OrderItem();
+        item.setId(id);
+        item.setOrder(owner);
+        item.setProduct(product != null ? product : deletedProduct());
+        item.setQuantity(quantity);
+        item.setPrice(price);
+        item.setOrderType(orderType);
+        item.setRentDuration(rentDuration);
+        return item;
+    }
+
+    /** Stand-in for a deleted product, built from what was copied when the order was archived. */
+    private Product deletedProduct() {
+        Product stub = new Product();
+        stub.setId(productId);
+        stub.setName(productName);
+        return stub;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "likes", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"post_id", "user_id"})
@@ -25,4 +27,7 @@ public class Like {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_buyer_created_at", columnList = "buyer_id, created_at"),
+    @Index(name = "idx_orders_status_created_at", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +39,10 @@ public class Order {
     @Column(name = "discount_amount", precision = 19, scale = 2)
     private BigDecimal discountAmount = BigDecimal.ZERO;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "voucher_id")
+    private Voucher voucher;
+    
     @Column(name = "final_amount", precision = 19, scale = 2, nullable = false)
     private BigDecimal finalAmount;
     
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_items_product_order", columnList = "product_id, order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
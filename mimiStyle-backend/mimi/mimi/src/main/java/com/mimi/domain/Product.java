@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_seller_id", columnList = "seller_id"),
+    @Index(name = "idx_products_status_created_at", columnList = "status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -76,10 +79,25 @@ public class Product {
     
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** Optimistic-lock version, also the product's ETag. */
+    @JsonIgnore
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
     
     // Relationships - Add @JsonIgnore to prevent circular reference
@@ -0,0 +1,106 @@
+package com.mimi.domain;
+
+import com.mimi.domain.enums.ProductStatus;
+import com.mimi.domain.enums.RentUnit;
+import com.mimi.domain.enums.TradeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Denormalized listing row for a {@link Product}: everything a catalog card shows, seller and
+ * category names and image URLs included. Maintained by ProductCardProjector, never edited directly.
+ */
+@Entity
+@Table(name = "product_cards", indexes = {
+    @Index(name = "idx_product_cards_seller_product", columnList = "seller_id, product_id")
+})
+@Data
+@NoArgsConstructor
+public class ProductCard {
+
+    /** Separator in {@link #imageUrls}; file names never contain a newline. */
+    private static final String URL_SEPARATOR = "\n";
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "condition_percentage")
+    private Integer conditionPercentage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "trade_type", nullable = false)
+    private TradeType tradeType;
+
+    @Column(name = "buy_price", precision = 19, scale = 2)
+    private BigDecimal buyPrice;
+
+    @Column(name = "rent_price", precision = 19, scale = 2)
+    private BigDecimal rentPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rent_unit")
+    private RentUnit rentUnit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductStatus status;
+
+    @Column(name = "address_contact")
+    private String addressContact;
+
+    @Column(name = "is_featured")
+    private Boolean featured;
+
+    @Column(name = "is_new")
+    private Boolean isNew;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "seller_id")
+    private Long sellerId;
+
+    @Column(name = "seller_name")
+    private String sellerName;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Column(name = "image_urls", columnDefinition = "TEXT")
+    private String imageUrls;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public List<String> getImageList() {
+        return splitImageUrls(imageUrls);
+    }
+
+    /** The stored image_urls value as a list. */
+    public static List<String> splitImageUrls(String imageUrls) {
+        return imageUrls == null || imageUrls.isEmpty() ? List.of() : Arrays.asList(imageUrls.split(URL_SEPARATOR));
+    }
+
+    public void setImageList(List<String> urls) {
+        imageUrls = urls.isEmpty() ? null : String.join(URL_SEPARATOR, urls);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mimi.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One entry of the product change log; the id doubles as the delta-sync token. */
+@Entity
+@Table(name = "product_changes", indexes = {
+    @Index(name = "idx_product_changes_changed_at", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class ProductChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public ProductChange(Long productId, LocalDateTime changedAt) {
+        this.productId = productId;
+        this.changedAt = changedAt;
+    }
+}
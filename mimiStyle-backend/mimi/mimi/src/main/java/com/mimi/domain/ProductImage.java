@@ -6,7 +6,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "product_images")
+@Table(name = "product_images", indexes = {
+    @Index(name = "idx_product_images_product_thumbnail", columnList = "product_id, is_thumbnail")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
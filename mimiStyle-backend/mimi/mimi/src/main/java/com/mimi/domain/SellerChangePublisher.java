@@ -0,0 +1,39 @@
+package com.mimi.domain;
+
+import com.mimi.event.SellerChangedEvent;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Objects;
+
+/**
+ * Entity listener on {@link User}: publishes {@link SellerChangedEvent} when the full name
+ * changes, so copies of it (product cards) follow. Other user updates (avatar, phone, address)
+ * publish nothing. Created by Spring through Hibernate's bean container.
+ */
+public class SellerChangePublisher {
+
+    private final ObjectProvider<ApplicationEventPublisher> publisher;
+
+    public SellerChangePublisher(ObjectProvider<ApplicationEventPublisher> publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void loaded(User user) {
+        user.persistedFullName = user.getFullName();
+    }
+
+    @PostUpdate
+    public void changed(User user) {
+        if (Objects.equals(user.persistedFullName, user.getFullName())) {
+            return;
+        }
+        user.persistedFullName = user.getFullName();
+        publisher.getObject().publishEvent(new SellerChangedEvent(user.getId(), user.getFullName()));
+    }
+}
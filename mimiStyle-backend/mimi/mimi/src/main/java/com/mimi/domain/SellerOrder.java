@@ -0,0 +1,44 @@
+package com.mimi.domain;
+
+import com.mimi.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** A seller's entry for an order that holds some of their products; the seller order inbox pages through these. */
+@Entity
+@Table(name = "seller_orders", indexes = {
+    @Index(name = "uk_seller_orders_seller_created", columnList = "seller_id, order_created_at, order_id", unique = true),
+    @Index(name = "idx_seller_orders_seller_status_created", columnList = "seller_id, status, order_created_at, order_id"),
+    @Index(name = "idx_seller_orders_order", columnList = "order_id")
+})
+@Data
+@NoArgsConstructor
+public class SellerOrder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "order_created_at", nullable = false)
+    private LocalDateTime orderCreatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    public SellerOrder(Long sellerId, Long orderId, LocalDateTime orderCreatedAt, OrderStatus status) {
+        this.sellerId = sellerId;
+        this.orderId = orderId;
+        this.orderCreatedAt = orderCreatedAt;
+        this.status = status;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mimi.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * Read-only view of the seller columns shown next to a product, kept in the second-level cache.
+ * Writes go through {@link User}; {@link SellerSummaryEviction} drops the cached copy when a user changes.
+ */
+@Entity
+@Immutable
+// Subselect rather than @Table so schema generation leaves the users table to User
+@Subselect("SELECT id, username, full_name, avatar_url FROM users")
+@Synchronize("users")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = SellerSummary.REGION)
+@Getter
+@NoArgsConstructor
+public class SellerSummary {
+
+    public static final String REGION = "seller_summary";
+
+    @Id
+    private Long id;
+
+    private String username;
+
+    @Column(name = "full_name")
+    private String fullName;
+
+    @Column(name = "avatar_url")
+    private String avatarUrl;
+}
@@ -0,0 +1,41 @@
+package com.mimi.domain;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener on {@link User}: evicts the cached {@link SellerSummary} of a changed user.
+ * Evicts again after commit so a concurrent read cannot put the old row back in the meantime.
+ * Created by Spring through Hibernate's bean container.
+ */
+public class SellerSummaryEviction {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public SellerSummaryEviction(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        Long id = user.getId();
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private void evict(Long id) {
+        entityManagerFactory.getObject().getCache().evict(SellerSummary.class, id);
+    }
+}
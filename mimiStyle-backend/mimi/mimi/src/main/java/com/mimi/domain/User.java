@@ -3,9 +3,14 @@ package com.mimi.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mimi.domain.enums.Role;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
@@ -14,6 +19,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners({SellerSummaryEviction.class, SellerChangePublisher.class})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,6 +63,15 @@ public class User {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    /** fullName as last loaded or written; {@link SellerChangePublisher} compares against it. */
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String persistedFullName;
     
     // Relationships - Add @JsonIgnore to prevent circular reference
     @JsonIgnore
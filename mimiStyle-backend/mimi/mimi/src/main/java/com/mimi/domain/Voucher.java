@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "vouchers")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "voucher")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,4 +34,20 @@ public class Voucher {
     
     @Column(name = "expiration_date")
     private LocalDateTime expirationDate;
+
+    /** Total redemptions allowed across all buyers; null means unlimited. */
+    @Column(name = "usage_limit")
+    private Integer usageLimit;
+
+    /** Redemptions allowed per buyer (cancelled orders do not count); null means unlimited. */
+    @Column(name = "per_user_limit")
+    private Integer perUserLimit;
+
+    /**
+     * Redemptions already handed out. For limited vouchers this also includes uses leased
+     * to running instances but not yet consumed, see VoucherUsageCounter.
+     */
+    @ColumnDefault("0")
+    @Column(name = "used_count", nullable = false)
+    private Integer usedCount = 0;
 }
\ No newline at end of file
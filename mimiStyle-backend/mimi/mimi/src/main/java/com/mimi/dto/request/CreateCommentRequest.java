@@ -0,0 +1,13 @@
+package com.mimi.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCommentRequest {
+    private Long userId;
+    private String content;
+}
@@ -17,8 +17,11 @@ public class CreateOrderRequest {
     private String shippingPhone;
     private String shippingAddress;
     private String shippingEmail;
+    /** Ignored: the fee is set server-side ({@code checkout.shipping-fee}), as in the quote. */
     private BigDecimal shippingFee = BigDecimal.ZERO;
+    /** Ignored: the discount is computed server-side from {@link #voucherCode}. */
     private BigDecimal discountAmount = BigDecimal.ZERO;
+    private String voucherCode;
     private PaymentMethod paymentMethod = PaymentMethod.COD;
     private String note;
     private List<OrderItemRequest> items;
@@ -0,0 +1,17 @@
+package com.mimi.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePostRequest {
+    private Long userId;
+    private String content;
+    /** Filenames returned by /api/products/upload-images. */
+    private List<String> images;
+}
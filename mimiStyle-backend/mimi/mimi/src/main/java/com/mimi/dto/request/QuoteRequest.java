@@ -0,0 +1,16 @@
+package com.mimi.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRequest {
+    /** Optional: when absent the best applicable voucher is picked. */
+    private String voucherCode;
+    private List<CreateOrderRequest.OrderItemRequest> items;
+}
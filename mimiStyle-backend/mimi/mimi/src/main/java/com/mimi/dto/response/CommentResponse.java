@@ -0,0 +1,22 @@
+package com.mimi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentResponse {
+    private Long id;
+    private Long postId;
+    private String content;
+    private LocalDateTime createdAt;
+
+    // Author info
+    private Long userId;
+    private String authorName;
+    private String authorAvatarUrl;
+}
@@ -0,0 +1,18 @@
+package com.mimi.dto.response;
+
+import com.mimi.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusEvent {
+    private Long orderId;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private LocalDateTime changedAt;
+}
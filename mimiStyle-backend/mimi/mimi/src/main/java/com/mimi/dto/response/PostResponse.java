@@ -0,0 +1,26 @@
+package com.mimi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostResponse {
+    private Long id;
+    private String content;
+    private LocalDateTime createdAt;
+    private Integer totalLikes;
+    private Integer totalComments;
+
+    // Author info
+    private Long userId;
+    private String authorName;
+    private String authorAvatarUrl;
+
+    private List<String> images;
+}
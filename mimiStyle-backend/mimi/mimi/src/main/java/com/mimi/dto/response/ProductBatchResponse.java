@@ -0,0 +1,17 @@
+package com.mimi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    /** Found products, in the order their ids were requested (field maps for a sparse request). */
+    private List<?> products;
+    /** Requested ids with no product (deleted or never existed). */
+    private List<Long> missingIds;
+}
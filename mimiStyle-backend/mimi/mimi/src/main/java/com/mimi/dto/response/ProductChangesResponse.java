@@ -0,0 +1,21 @@
+package com.mimi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesResponse {
+    /** Current state of products created or updated since the token (hidden ones have status HIDDEN). */
+    private List<ProductResponse> changed;
+    /** Products deleted since the token. */
+    private List<Long> deletedIds;
+    /** Token to pass as {@code since} on the next call. */
+    private String nextToken;
+    /** More changes are waiting; call again right away with nextToken. */
+    private boolean hasMore;
+}
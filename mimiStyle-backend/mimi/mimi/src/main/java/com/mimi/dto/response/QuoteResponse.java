@@ -0,0 +1,38 @@
+package com.mimi.dto.response;
+
+import com.mimi.domain.Voucher;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteResponse {
+    private List<QuoteLine> items;
+    private List<Long> missingProductIds;
+    private BigDecimal subtotal;
+    private BigDecimal shippingFee;
+    private Voucher voucher;
+    /** Set when the requested voucher cannot be applied to this cart. */
+    private String voucherMessage;
+    private BigDecimal discountAmount;
+    private BigDecimal finalAmount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteLine {
+        private Long productId;
+        private String productName;
+        private String imageUrl;
+        private Integer quantity;
+        private BigDecimal price;
+        private BigDecimal lineTotal;
+        /** False when the product is hidden or sold out; such lines are not counted in the subtotal. */
+        private boolean available;
+    }
+}
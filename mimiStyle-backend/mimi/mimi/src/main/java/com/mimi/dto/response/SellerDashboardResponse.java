@@ -0,0 +1,54 @@
+package com.mimi.dto.response;
+
+import com.mimi.domain.enums.OrderStatus;
+import com.mimi.domain.enums.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the seller management page shows, in one document. A section that failed or did
+ * not finish in time is null and listed in {@link #unavailableSections}; the rest are still valid.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerDashboardResponse {
+    private Long sellerId;
+    private Map<ProductStatus, Long> productCounts;
+    /** All-time revenue, as /api/revenue/summary without filters. */
+    private RevenueResponse revenue;
+    private List<RecentOrder> recentOrders;
+    private List<LowStockVariant> lowStockVariants;
+    private List<String> unavailableSections;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecentOrder {
+        private Long orderId;
+        private LocalDateTime createdAt;
+        private OrderStatus status;
+        private String shippingName;
+        /** Quantity and amount of this seller's lines only. */
+        private Long quantity;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LowStockVariant {
+        private Long variantId;
+        private Long productId;
+        private String productName;
+        private String color;
+        private String size;
+        private Integer stockQuantity;
+    }
+}
@@ -0,0 +1,26 @@
+package com.mimi.dto.response;
+
+import com.mimi.domain.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** One order in a seller's inbox: only the lines of that seller's products, with their total. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SellerOrderResponse {
+    private Long orderId;
+    private LocalDateTime createdAt;
+    private OrderStatus status;
+    private String shippingName;
+    private String shippingPhone;
+    private String shippingAddress;
+    private String note;
+    private List<OrderItemResponse> items;
+    private BigDecimal sellerTotal;
+}
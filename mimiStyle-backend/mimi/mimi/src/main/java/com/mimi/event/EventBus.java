@@ -0,0 +1,200 @@
+package com.mimi.event;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process publish/subscribe by topic name (e.g. {@code orders:buyer:42}, {@code posts:7:comments}).
+ * <p>
+ * Publishing never blocks on a subscriber: each one has a bounded buffer that drops its oldest
+ * event when full, and buffers are drained by a small shared pool. A slow client therefore only
+ * loses its own stale events.
+ * <p>
+ * The write itself (a blocking socket write for SSE) runs on a thread of its own, and the
+ * dispatcher waits at most {@code event-bus.send-timeout-ms} for it: a stalled client is then
+ * unsubscribed and its write interrupted, so it never holds a dispatch thread. Writer threads
+ * are only created for writes in progress, at most one per subscriber.
+ */
+@Component
+public class EventBus {
+
+    /** Receives events for one subscriber; throwing unsubscribes it. */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(Event event) throws Exception;
+    }
+
+    /** A published event; heartbeats have a null name and data. */
+    public record Event(long id, String name, Object data) {
+        public boolean isHeartbeat() {
+            return name == null;
+        }
+    }
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService dispatcher;
+    private final ExecutorService writers;
+    private final int bufferSize;
+    private final long sendTimeoutMs;
+
+    public EventBus(@Value("${event-bus.dispatch-threads:4}") int dispatchThreads,
+                    @Value("${event-bus.buffer-size:64}") int bufferSize,
+                    @Value("${event-bus.send-timeout-ms:10000}") long sendTimeoutMs) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "event-bus-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger writerCount = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "event-bus-writer-" + writerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.bufferSize = bufferSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public Subscriber subscribe(String topic, Sink sink) {
+        Subscriber subscriber = new Subscriber(topic, sink);
+        // Atomic with close(): a set being removed as empty never gets a new subscriber
+        topics.compute(topic, (t, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.<Subscriber>newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return subscriber;
+    }
+
+    public void publish(String topic, String name, Object data) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Event event = new Event(sequence.incrementAndGet(), name, data);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    public int subscriberCount() {
+        return topics.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /** Keeps idle connections alive through proxies and detects clients that went away. */
+    @Scheduled(fixedDelayString = "${event-bus.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        Event ping = new Event(0, null, null);
+        topics.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(ping)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    public final class Subscriber {
+        private final String topic;
+        private final Sink sink;
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean closed;
+
+        private Subscriber(String topic, Sink sink) {
+            this.topic = topic;
+            this.sink = sink;
+        }
+
+        public void close() {
+            closed = true;
+            topics.computeIfPresent(topic, (t, subscribers) -> {
+                subscribers.remove(this);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+
+        /** Events discarded because this subscriber fell behind. */
+        public long dropped() {
+            return dropped.get();
+        }
+
+        private void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            synchronized (buffer) {
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    dropped.incrementAndGet();
+                }
+                buffer.addLast(event);
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed) {
+                    Event next;
+                    synchronized (buffer) {
+                        next = buffer.pollFirst();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    send(next);
+                }
+            } catch (Exception ex) {
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // An event may have arrived after the last poll but before the flag was cleared
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending && !closed && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        /** Writes one event, giving up (and so unsubscribing) after send-timeout-ms. */
+        private void send(Event event) throws Exception {
+            Future<?> write = writers.submit(() -> {
+                sink.accept(event);
+                return null;
+            });
+            try {
+                write.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                write.cancel(true);
+                throw ex;
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof Exception cause ? cause : ex;
+            }
+        }
+    }
+}
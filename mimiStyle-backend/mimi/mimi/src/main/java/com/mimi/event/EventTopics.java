@@ -0,0 +1,17 @@
+package com.mimi.event;
+
+public final class EventTopics {
+
+    private EventTopics() {
+    }
+
+    /** Status changes of one buyer's orders. */
+    public static String buyerOrders(Long buyerId) {
+        return "orders:buyer:" + buyerId;
+    }
+
+    /** New comments on one post. */
+    public static String postComments(Long postId) {
+        return "posts:" + postId + ":comments";
+    }
+}
@@ -0,0 +1,5 @@
+package com.mimi.event;
+
+/** A product, or one of its images, was created, changed or deleted in the current transaction. */
+public record ProductChangedEvent(Long productId) {
+}
@@ -0,0 +1,5 @@
+package com.mimi.event;
+
+/** A user's full name changed; published by {@link com.mimi.domain.SellerChangePublisher}. */
+public record SellerChangedEvent(Long sellerId, String fullName) {
+}
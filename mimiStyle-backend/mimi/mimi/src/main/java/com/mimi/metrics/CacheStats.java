@@ -0,0 +1,39 @@
+package com.mimi.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/** Hit/miss counters for one in-process cache, either counted here or read from the cache itself. */
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongSupplier hitCount;
+    private final LongSupplier missCount;
+
+    CacheStats() {
+        this.hitCount = hits::sum;
+        this.missCount = misses::sum;
+    }
+
+    CacheStats(LongSupplier hitCount, LongSupplier missCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public long hits() {
+        return hitCount.getAsLong();
+    }
+
+    public long misses() {
+        return missCount.getAsLong();
+    }
+}
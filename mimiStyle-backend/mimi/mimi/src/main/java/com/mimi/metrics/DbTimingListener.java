@@ -0,0 +1,30 @@
+package com.mimi.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC execution time to the current {@link RequestScope}. Hibernate creates one per
+ * session from {@code hibernate.session.events.auto}; all state lives in the thread's scope.
+ */
+public class DbTimingListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestScope.current().statementStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestScope.current().statementEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestScope.current().statementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestScope.current().statementEnd();
+    }
+}
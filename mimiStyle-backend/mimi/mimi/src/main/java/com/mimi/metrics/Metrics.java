@@ -0,0 +1,158 @@
+package com.mimi.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process metrics registry, rendered in the Prometheus text format by {@link #scrape()}.
+ * Series are created on first use; after that, recording is a map lookup plus atomic adds.
+ */
+@Component
+public class Metrics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Map<Method, LongAdder>> repositoryCalls = new ConcurrentHashMap<>();
+    private final Map<String, CacheStats> caches = new ConcurrentHashMap<>();
+
+    /** Latency and DB usage of one controller method. */
+    public static final class Endpoint {
+        final String labels;
+        final String description;
+        /** Max statements per request, 0 when the endpoint declares none. */
+        final int sqlBudget;
+        final LongAdder sqlBudgetExceeded = new LongAdder();
+        final LongAdder repeatedSql = new LongAdder();
+        final AtomicLong lastSqlReportNanos = new AtomicLong();
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram dbTime = new LatencyHistogram();
+        final LongAdder statements = new LongAdder();
+        final LongAdder repositoryCalls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Endpoint(String labels, String description, int sqlBudget) {
+            this.labels = labels;
+            this.description = description;
+            this.sqlBudget = sqlBudget;
+        }
+    }
+
+    Endpoint endpoint(Method handler) {
+        return endpoints.get(handler);
+    }
+
+    Endpoint registerEndpoint(Method handler, String httpMethod, String uri, int sqlBudget) {
+        return endpoints.computeIfAbsent(handler, m -> {
+            String name = m.getDeclaringClass().getSimpleName() + "." + m.getName();
+            return new Endpoint("handler=\"" + escape(name) + "\",method=\"" + escape(httpMethod)
+                    + "\",uri=\"" + escape(uri) + "\"", httpMethod + " " + uri + " (" + name + ")", sqlBudget);
+        });
+    }
+
+    /** Call counters of one repository interface, keyed by the invoked method. */
+    Map<Method, LongAdder> repository(String repositoryName) {
+        return repositoryCalls.computeIfAbsent(repositoryName, name -> new ConcurrentHashMap<>());
+    }
+
+    public CacheStats cache(String name) {
+        return caches.computeIfAbsent(name, n -> new CacheStats());
+    }
+
+    /** Exposes a cache that keeps its own hit/miss counts (e.g. Hibernate's second-level cache). */
+    public void cache(String name, LongSupplier hits, LongSupplier misses) {
+        caches.put(name, new CacheStats(hits, misses));
+    }
+
+    void record(RequestScope scope, boolean error) {
+        Endpoint endpoint = scope.endpoint;
+        endpoint.latency.recordNanos(System.nanoTime() - scope.startNanos);
+        endpoint.dbTime.recordNanos(scope.dbNanos);
+        endpoint.statements.add(scope.statements);
+        endpoint.repositoryCalls.add(scope.repositoryCalls);
+        if (error) {
+            endpoint.errors.increment();
+        }
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        Map<String, Endpoint> byLabels = new TreeMap<>();
+        endpoints.values().forEach(e -> byLabels.put(e.labels, e));
+
+        summaryHeader(out, "mimi_http_request_duration_seconds", "Request latency per controller method.");
+        byLabels.values().forEach(e -> summary(out, "mimi_http_request_duration_seconds", e.labels, e.latency.snapshot()));
+        summaryHeader(out, "mimi_http_request_db_duration_seconds", "JDBC execution time per request.");
+        byLabels.values().forEach(e -> summary(out, "mimi_http_request_db_duration_seconds", e.labels, e.dbTime.snapshot()));
+        counterHeader(out, "mimi_http_request_db_statements_total", "JDBC statements executed by requests.");
+        byLabels.values().forEach(e -> sample(out, "mimi_http_request_db_statements_total", e.labels, e.statements.sum()));
+        counterHeader(out, "mimi_http_request_repository_calls_total", "Repository calls made by requests.");
+        byLabels.values().forEach(e -> sample(out, "mimi_http_request_repository_calls_total", e.labels, e.repositoryCalls.sum()));
+        counterHeader(out, "mimi_http_request_sql_budget_exceeded_total", "Requests that ran more statements than their @SqlBudget.");
+        byLabels.values().forEach(e -> sample(out, "mimi_http_request_sql_budget_exceeded_total", e.labels, e.sqlBudgetExceeded.sum()));
+        counterHeader(out, "mimi_http_request_repeated_sql_total", "Requests that ran one statement shape repeatedly (likely N+1).");
+        byLabels.values().forEach(e -> sample(out, "mimi_http_request_repeated_sql_total", e.labels, e.repeatedSql.sum()));
+        counterHeader(out, "mimi_http_request_errors_total", "Requests that failed with an exception or 5xx status.");
+        byLabels.values().forEach(e -> sample(out, "mimi_http_request_errors_total", e.labels, e.errors.sum()));
+
+        counterHeader(out, "mimi_repository_calls_total", "Spring Data repository method calls.");
+        new TreeMap<>(repositoryCalls).forEach((repository, methods) -> {
+            Map<String, Long> byMethod = new TreeMap<>();
+            methods.forEach((method, count) -> byMethod.merge(method.getName(), count.sum(), Long::sum));
+            byMethod.forEach((method, count) -> sample(out, "mimi_repository_calls_total",
+                    "repository=\"" + escape(repository) + "\",method=\"" + escape(method) + "\"", count));
+        });
+
+        Map<String, CacheStats> sortedCaches = new TreeMap<>(caches);
+        counterHeader(out, "mimi_cache_requests_total", "In-process cache lookups.");
+        sortedCaches.forEach((name, stats) -> {
+            sample(out, "mimi_cache_requests_total", "cache=\"" + escape(name) + "\",result=\"hit\"", stats.hits());
+            sample(out, "mimi_cache_requests_total", "cache=\"" + escape(name) + "\",result=\"miss\"", stats.misses());
+        });
+        out.append("# HELP mimi_cache_hit_ratio Share of cache lookups served from memory.\n")
+                .append("# TYPE mimi_cache_hit_ratio gauge\n");
+        sortedCaches.forEach((name, stats) -> {
+            long total = stats.hits() + stats.misses();
+            sample(out, "mimi_cache_hit_ratio", "cache=\"" + escape(name) + "\"", total == 0 ? 0 : (double) stats.hits() / total);
+        });
+        return out.toString();
+    }
+
+    private static void summaryHeader(StringBuilder out, String name, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(" summary\n");
+    }
+
+    private static void counterHeader(StringBuilder out, String name, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(" counter\n");
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram.Snapshot snapshot) {
+        for (double q : QUANTILES) {
+            sample(out, name, labels + ",quantile=\"" + q + "\"", snapshot.valueAt(q) / 1e6);
+        }
+        sample(out, name + "_sum", labels, snapshot.sumMicros() / 1e6);
+        sample(out, name + "_count", labels, snapshot.count());
+        sample(out, name + "_max", labels, snapshot.maxMicros() / 1e6);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,43 @@
+package com.mimi.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Adds a call-counting advice to every Spring Data repository proxy. */
+@Component
+public class RepositoryMetrics implements BeanPostProcessor {
+
+    private final Metrics metrics;
+
+    public RepositoryMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            counting(metrics.repository(information.getRepositoryInterface().getSimpleName())))));
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor counting(Map<Method, LongAdder> calls) {
+        return invocation -> {
+            LongAdder counter = calls.get(invocation.getMethod());
+            if (counter == null) {
+                counter = calls.computeIfAbsent(invocation.getMethod(), m -> new LongAdder());
+            }
+            counter.increment();
+            RequestScope.current().repositoryCall();
+            return invocation.proceed();
+        };
+    }
+}
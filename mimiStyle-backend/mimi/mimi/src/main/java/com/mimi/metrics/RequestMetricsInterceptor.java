@@ -0,0 +1,53 @@
+package com.mimi.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times every controller method call and records the DB work done on its thread, then hands
+ * the request's SQL to {@link SqlBudgetInspector}.
+ * Streaming (async) requests are not recorded: their duration is the connection lifetime.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final Metrics metrics;
+    private final SqlBudgetInspector sqlBudgetInspector;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Metrics.Endpoint endpoint = metrics.endpoint(handlerMethod.getMethod());
+            if (endpoint == null) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                int sqlBudget = sqlBudgetInspector.budgetFor(handlerMethod.getMethodAnnotation(SqlBudget.class),
+                        handlerMethod.getBeanType().getAnnotation(SqlBudget.class));
+                endpoint = metrics.registerEndpoint(handlerMethod.getMethod(), request.getMethod(),
+                        pattern != null ? pattern.toString() : request.getRequestURI(), sqlBudget);
+            }
+            RequestScope.current().begin(endpoint);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestScope.current().end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestScope scope = RequestScope.current();
+        if (scope.active) {
+            metrics.record(scope, ex != null || response.getStatus() >= 500);
+            sqlBudgetInspector.afterRequest(scope);
+            scope.end();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mimi.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread accumulator for the request being served: DB time, statement and repository
+ * call counts, SQL shapes. One instance per thread, reset at the start of each request, so
+ * only a statement shape not yet seen in the request allocates.
+ */
+public final class RequestScope {
+
+    private static final ThreadLocal<RequestScope> CURRENT = ThreadLocal.withInitial(RequestScope::new);
+
+    boolean active;
+    Metrics.Endpoint endpoint;
+    long startNanos;
+    long dbNanos;
+    long statementStartNanos;
+    int statements;
+    int repositoryCalls;
+    /** Statements prepared by Hibernate, by shape; cleared, not reallocated, per request. */
+    final Map<String, int[]> sqlShapes = new HashMap<>();
+    int sqlStatements;
+
+    private RequestScope() {
+    }
+
+    public static RequestScope current() {
+        return CURRENT.get();
+    }
+
+    void begin(Metrics.Endpoint endpoint) {
+        this.active = true;
+        this.endpoint = endpoint;
+        this.startNanos = System.nanoTime();
+        this.dbNanos = 0;
+        this.statementStartNanos = 0;
+        this.statements = 0;
+        this.repositoryCalls = 0;
+        this.sqlShapes.clear();
+        this.sqlStatements = 0;
+    }
+
+    void end() {
+        this.active = false;
+        this.endpoint = null;
+    }
+
+    void statementStart() {
+        if (active) {
+            statementStartNanos = System.nanoTime();
+        }
+    }
+
+    void statementEnd() {
+        if (active && statementStartNanos != 0) {
+            dbNanos += System.nanoTime() - statementStartNanos;
+            statementStartNanos = 0;
+            statements++;
+        }
+    }
+
+    /** Returns the number of statements prepared so far in this request. */
+    int sqlStatement(String shape) {
+        int[] count = sqlShapes.get(shape);
+        if (count == null) {
+            sqlShapes.put(shape, new int[] {1});
+        } else {
+            count[0]++;
+        }
+        return ++sqlStatements;
+    }
+
+    void repositoryCall() {
+        if (active) {
+            repositoryCalls++;
+        }
+    }
+}
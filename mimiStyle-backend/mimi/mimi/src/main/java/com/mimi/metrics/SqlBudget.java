@@ -0,0 +1,17 @@
+package com.mimi.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements one request to the annotated controller method (or every
+ * method of the annotated controller) may run. Checked by {@link SqlBudgetInspector}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
@@ -0,0 +1,9 @@
+package com.mimi.metrics;
+
+/** Thrown when {@code sql-budget.fail-on-exceed} is on and a request goes over its {@link SqlBudget}. */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,116 @@
+package com.mimi.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the statements Hibernate prepares during each HTTP request, grouped by SQL shape.
+ * After the request it logs the endpoint when it went over its {@link SqlBudget} or ran one
+ * shape at least {@code sql-budget.repeat-threshold} times, the usual sign of a lazy
+ * association loaded per row (N+1). Reports are rate-limited per endpoint.
+ * <p>
+ * With {@code sql-budget.fail-on-exceed=true} (meant for tests and local runs) the statement
+ * that goes over budget throws {@link SqlBudgetExceededException} instead, failing the request.
+ */
+@Slf4j
+@Component
+public class SqlBudgetInspector implements StatementInspector {
+
+    /** "in (?,?,?)" and "in (?,?)" are the same query with a different list size. */
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    private static final int MAX_SHAPE_LENGTH = 300;
+    private static final int MAX_REPORTED_SHAPES = 3;
+
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final boolean failOnExceed;
+    private final long reportIntervalNanos;
+
+    public SqlBudgetInspector(@Value("${sql-budget.default:0}") int defaultBudget,
+                              @Value("${sql-budget.repeat-threshold:10}") int repeatThreshold,
+                              @Value("${sql-budget.fail-on-exceed:false}") boolean failOnExceed,
+                              @Value("${sql-budget.report-interval-ms:60000}") long reportIntervalMs) {
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.failOnExceed = failOnExceed;
+        this.reportIntervalNanos = reportIntervalMs * 1_000_000L;
+    }
+
+    /** Budget for a handler: its own annotation, then its controller's, then the default (0 = none). */
+    int budgetFor(SqlBudget methodBudget, SqlBudget typeBudget) {
+        if (methodBudget != null) {
+            return methodBudget.value();
+        }
+        return typeBudget != null ? typeBudget.value() : defaultBudget;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestScope scope = RequestScope.current();
+        if (scope.active) {
+            int count = scope.sqlStatement(shape(sql));
+            int budget = scope.endpoint.sqlBudget;
+            if (failOnExceed && budget > 0 && count > budget) {
+                throw new SqlBudgetExceededException(scope.endpoint.description + " ran more than " + budget
+                        + " SQL statements; most repeated: " + topShapes(scope.sqlShapes, 1));
+            }
+        }
+        return sql;
+    }
+
+    /** Called once the request has completed. */
+    void afterRequest(RequestScope scope) {
+        Metrics.Endpoint endpoint = scope.endpoint;
+        boolean overBudget = endpoint.sqlBudget > 0 && scope.sqlStatements > endpoint.sqlBudget;
+        boolean repeated = false;
+        for (int[] count : scope.sqlShapes.values()) {
+            if (count[0] >= repeatThreshold) {
+                repeated = true;
+                break;
+            }
+        }
+        if (overBudget) {
+            endpoint.sqlBudgetExceeded.increment();
+        }
+        if (repeated) {
+            endpoint.repeatedSql.increment();
+        }
+        if ((overBudget || repeated) && shouldReport(endpoint)) {
+            log.warn("{} ran {} SQL statements{}; most repeated: {}", endpoint.description, scope.sqlStatements,
+                    endpoint.sqlBudget > 0 ? " (budget " + endpoint.sqlBudget + ")" : "",
+                    topShapes(scope.sqlShapes, MAX_REPORTED_SHAPES));
+        }
+    }
+
+    private boolean shouldReport(Metrics.Endpoint endpoint) {
+        long now = System.nanoTime();
+        long last = endpoint.lastSqlReportNanos.get();
+        return (last == 0 || now - last >= reportIntervalNanos) && endpoint.lastSqlReportNanos.compareAndSet(last, now);
+    }
+
+    private static String shape(String sql) {
+        if (!sql.contains("?,")) {
+            return sql;
+        }
+        return IN_LIST.matcher(sql).replaceAll("(?...)");
+    }
+
+    private static String topShapes(Map<String, int[]> shapes, int limit) {
+        List<Map.Entry<String, int[]>> entries = new ArrayList<>(shapes.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            String sql = entries.get(i).getKey();
+            out.append(i == 0 ? "" : " | ").append(entries.get(i).getValue()[0]).append("x ")
+                    .append(sql.length() > MAX_SHAPE_LENGTH ? sql.substring(0, MAX_SHAPE_LENGTH) + "..." : sql);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.mimi.repository;
+
+import com.mimi.domain.ArchivedOrderItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, Long> {
+
+    /**
+     * Archived sales of the seller's products between start and end. Both bounds are required:
+     * they are on the partitioning column, so MySQL only reads the months in range. Filters on
+     * the seller copied into the line, so sales of products deleted since are still counted.
+     */
+    @Query("SELECT i FROM ArchivedOrderItem i " +
+           "JOIN FETCH i.order o " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE i.sellerId = :sellerId " +
+           "AND o.status = 'COMPLETED' " +
+           "AND i.orderCreatedAt >= :startDate " +
+           "AND i.orderCreatedAt <= :endDate " +
+           "ORDER BY i.orderCreatedAt DESC")
+    List<ArchivedOrderItem> findSoldItemsBySeller(@Param("sellerId") Long sellerId,
+                                                  @Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Totals of findSoldItemsBySeller as one (revenue, quantity) row. A category only matches
+     * lines whose product still exists, as in the entity queries.
+     */
+    @Query("SELECT SUM(i.price * i.quantity), SUM(i.quantity) FROM ArchivedOrderItem i " +
+           "JOIN i.order o " +
+           "LEFT JOIN i.product p " +
+           "LEFT JOIN p.category c " +
+           "WHERE i.sellerId = :sellerId " +
+           "AND o.status = 'COMPLETED' " +
+           "AND i.orderCreatedAt >= :startDate " +
+           "AND i.orderCreatedAt <= :endDate " +
+           "AND (:category IS NULL OR LOWER(c.name) = LOWER(:category))")
+    List<Object[]> sumSoldItemsBySeller(@Param("sellerId") Long sellerId,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("category") String category);
+
+    /** findSoldItemsBySeller for streamed responses, with the category fetched too; needs a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM ArchivedOrderItem i " +
+           "JOIN FETCH i.order o " +
+           "LEFT JOIN FETCH i.product p " +
+           "LEFT JOIN FETCH p.category " +
+           "WHERE i.sellerId = :sellerId " +
+           "AND o.status = 'COMPLETED' " +
+           "AND i.orderCreatedAt >= :startDate " +
+           "AND i.orderCreatedAt <= :endDate " +
+           "ORDER BY i.orderCreatedAt DESC")
+    Stream<ArchivedOrderItem> streamSoldItemsBySeller(@Param("sellerId") Long sellerId,
+                                                      @Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
+
+    /** Same shape as OrderItemRepository.findLinesByOrderIdIn, with the name as it was when archived. */
+    @Query("SELECT i.order.id, i.productId, i.productName, i.quantity, i.price FROM ArchivedOrderItem i " +
+           "WHERE i.order.id IN :orderIds " +
+           "ORDER BY i.id")
+    List<Object[]> findLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT i.order.id, i.productId, i.productName, i.quantity, i.price FROM ArchivedOrderItem i " +
+           "WHERE i.order.id IN :orderIds " +
+           "AND i.sellerId = :sellerId " +
+           "ORDER BY i.id")
+    List<Object[]> findSellerLinesByOrderIdIn(@Param("sellerId") Long sellerId,
+                                              @Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,26 @@
+package com.mimi.repository;
+
+import com.mimi.domain.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o " +
+           "LEFT JOIN FETCH o.orderItems i " +
+           "LEFT JOIN FETCH i.product " +
+           "WHERE o.buyerId = :buyerId " +
+           "ORDER BY o.createdAt DESC")
+    List<ArchivedOrder> findByBuyerIdWithItems(@Param("buyerId") Long buyerId);
+
+    /** Same columns as OrderRepository.findHeadersByIdIn; the primary key starts with id. */
+    @Query("SELECT o.id, o.createdAt, o.status, o.shippingName, o.shippingPhone, o.shippingAddress, o.note " +
+           "FROM ArchivedOrder o WHERE o.id IN :ids")
+    List<Object[]> findHeadersByIdIn(@Param("ids") Collection<Long> ids);
+}
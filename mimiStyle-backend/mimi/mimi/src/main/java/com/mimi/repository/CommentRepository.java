@@ -0,0 +1,29 @@
+package com.mimi.repository;
+
+import com.mimi.domain.Comment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+           "WHERE c.post.id = :postId " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findByPost(@Param("postId") Long postId, Limit limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user " +
+           "WHERE c.post.id = :postId " +
+           "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+           "ORDER BY c.createdAt ASC, c.id ASC")
+    List<Comment> findByPostAfter(@Param("postId") Long postId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Limit limit);
+}
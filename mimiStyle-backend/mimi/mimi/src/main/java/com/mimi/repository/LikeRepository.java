@@ -0,0 +1,32 @@
+package com.mimi.repository;
+
+import com.mimi.domain.Like;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface LikeRepository extends JpaRepository<Like, Long> {
+
+    /** Idempotent like: 1 if inserted, 0 if the user already liked the post. */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes (post_id, user_id, created_at) VALUES (:postId, :userId, :createdAt)",
+           nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") Long userId,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    /** Empty when there is no like, or it predates likes.created_at. */
+    @Query("SELECT l.createdAt FROM Like l WHERE l.post.id = :postId AND l.user.id = :userId")
+    Optional<LocalDateTime> findCreatedAt(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.post.id = :postId AND l.user.id = :userId")
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    boolean existsByPostIdAndUserId(Long postId, Long userId);
+}
@@ -1,13 +1,19 @@
 package com.mimi.repository;
 
 import com.mimi.domain.OrderItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
@@ -32,4 +38,68 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
            "AND o.status IN ('PENDING', 'CONFIRMED', 'SHIPPING', 'COMPLETED') " +
            "ORDER BY o.createdAt DESC")
     List<OrderItem> findAllSoldItemsBySeller(@Param("sellerId") Long sellerId);
-}
\ No newline at end of file
+
+    /**
+     * Totals of findSoldItemsBySeller (null bounds = no bound, null category = all) as one
+     * (revenue, quantity) row, summed in the database instead of loading the lines.
+     */
+    @Query("SELECT SUM(oi.price * oi.quantity), SUM(oi.quantity) FROM OrderItem oi " +
+           "JOIN oi.order o " +
+           "JOIN oi.product p " +
+           "LEFT JOIN p.category c " +
+           "WHERE p.seller.id = :sellerId " +
+           "AND o.status IN ('PENDING', 'CONFIRMED', 'SHIPPING', 'COMPLETED') " +
+           "AND (:startDate IS NULL OR o.createdAt >= :startDate) " +
+           "AND (:endDate IS NULL OR o.createdAt <= :endDate) " +
+           "AND (:category IS NULL OR LOWER(c.name) = LOWER(:category))")
+    List<Object[]> sumSoldItemsBySeller(@Param("sellerId") Long sellerId,
+                                        @Param("startDate") LocalDateTime startDate,
+                                        @Param("endDate") LocalDateTime endDate,
+                                        @Param("category") String category);
+
+    /**
+     * findSoldItemsBySeller (null bounds = no bound) for streamed responses, with product and
+     * category fetched in the same query; needs a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT oi FROM OrderItem oi " +
+           "JOIN FETCH oi.order o " +
+           "JOIN FETCH oi.product p " +
+           "LEFT JOIN FETCH p.category " +
+           "WHERE p.seller.id = :sellerId " +
+           "AND o.status IN ('PENDING', 'CONFIRMED', 'SHIPPING', 'COMPLETED') " +
+           "AND (:startDate IS NULL OR o.createdAt >= :startDate) " +
+           "AND (:endDate IS NULL OR o.createdAt <= :endDate) " +
+           "ORDER BY o.createdAt DESC")
+    Stream<OrderItem> streamSoldItemsBySeller(@Param("sellerId") Long sellerId,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    /** Lines of these orders as (orderId, productId, productName, quantity, price), for sparse order responses. */
+    @Query("SELECT oi.order.id, p.id, p.name, oi.quantity, oi.price FROM OrderItem oi " +
+           "JOIN oi.product p " +
+           "WHERE oi.order.id IN :orderIds " +
+           "ORDER BY oi.id")
+    List<Object[]> findLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /** findLinesByOrderIdIn restricted to the seller's own products, for the seller order inbox. */
+    @Query("SELECT oi.order.id, p.id, p.name, oi.quantity, oi.price FROM OrderItem oi " +
+           "JOIN oi.product p " +
+           "WHERE oi.order.id IN :orderIds " +
+           "AND p.seller.id = :sellerId " +
+           "ORDER BY oi.id")
+    List<Object[]> findSellerLinesByOrderIdIn(@Param("sellerId") Long sellerId,
+                                              @Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * The seller's latest orders, newest first, as (orderId, createdAt, status, shippingName,
+     * quantity, amount); quantity and amount cover only the seller's own lines.
+     */
+    @Query("SELECT o.id, o.createdAt, o.status, o.shippingName, SUM(oi.quantity), SUM(oi.price * oi.quantity) " +
+           "FROM OrderItem oi " +
+           "JOIN oi.order o " +
+           "WHERE oi.product.seller.id = :sellerId " +
+           "GROUP BY o.id, o.createdAt, o.status, o.shippingName " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Object[]> findRecentOrderSummariesBySeller(@Param("sellerId") Long sellerId, Limit limit);
+}
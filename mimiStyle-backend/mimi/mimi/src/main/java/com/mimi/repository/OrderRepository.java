@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,4 +27,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                   @Param("status") OrderStatus status,
                                   @Param("startDate") LocalDateTime startDate,
                                   @Param("endDate") LocalDateTime endDate);
+
+    /** (id, createdAt, status, shippingName, shippingPhone, shippingAddress, note) of these orders. */
+    @Query("SELECT o.id, o.createdAt, o.status, o.shippingName, o.shippingPhone, o.shippingAddress, o.note " +
+           "FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findHeadersByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.mimi.repository;
+
+import com.mimi.domain.PostImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostImageRepository extends JpaRepository<PostImage, Long> {
+    List<PostImage> findByPostIdIn(Collection<Long> postIds);
+}
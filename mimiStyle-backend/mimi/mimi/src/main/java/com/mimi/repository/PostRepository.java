@@ -0,0 +1,48 @@
+package com.mimi.repository;
+
+import com.mimi.domain.Post;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PostRepository extends JpaRepository<Post, Long> {
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.user " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeed(Limit limit);
+
+    /** Trang tiếp theo của feed, sau con trỏ (createdAt, id). */
+    @Query("SELECT p FROM Post p JOIN FETCH p.user " +
+           "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT p FROM Post p JOIN FETCH p.user WHERE p.id IN :ids")
+    List<Post> findWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** [id, createdAt, totalLikes, totalComments] của các bài đăng gần đây. */
+    @Query("SELECT p.id, p.createdAt, p.totalLikes, p.totalComments FROM Post p WHERE p.createdAt >= :since")
+    List<Object[]> findEngagementSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.totalComments = p.totalComments + :delta WHERE p.id = :id")
+    int addComments(@Param("id") Long id, @Param("delta") int delta);
+
+    /** Recomputes total_likes from the likes table for the given posts. */
+    @Modifying
+    @Query(value = "UPDATE posts p SET total_likes = " +
+                   "(SELECT COUNT(*) FROM likes l WHERE l.post_id = p.id) " +
+                   "WHERE p.id IN (:ids)", nativeQuery = true)
+    int recountLikes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+}
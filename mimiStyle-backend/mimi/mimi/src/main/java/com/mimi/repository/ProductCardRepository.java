@@ -0,0 +1,37 @@
+package com.mimi.repository;
+
+import com.mimi.domain.ProductCard;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ProductCardRepository extends JpaRepository<ProductCard, Long> {
+
+    List<ProductCard> findAllByOrderByProductIdAsc();
+
+    /** findAllByOrderByProductIdAsc for streamed responses; needs a transaction. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM ProductCard c ORDER BY c.productId")
+    Stream<ProductCard> streamAll();
+
+    List<ProductCard> findBySellerIdOrderByProductIdAsc(Long sellerId);
+
+    @Modifying
+    @Query("UPDATE ProductCard c SET c.sellerName = :name WHERE c.sellerId = :sellerId")
+    int renameSeller(@Param("sellerId") Long sellerId, @Param("name") String name);
+
+    /** Products that have no card yet (created before the read model existed, or by bulk SQL). */
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId " +
+           "AND NOT EXISTS (SELECT 1 FROM ProductCard c WHERE c.productId = p.id) ORDER BY p.id")
+    List<Long> findProductIdsWithoutCard(@Param("afterId") Long afterId, Limit limit);
+}
@@ -0,0 +1,30 @@
+package com.mimi.repository;
+
+import com.mimi.domain.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    List<ProductChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT MIN(c.id) FROM ProductChange c")
+    Long findOldestId();
+
+    @Query("SELECT MAX(c.id) FROM ProductChange c")
+    Long findLatestId();
+
+    /** Drops entries older than the cutoff but never the newest one, which anchors the token range. */
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.changedAt < :before " +
+           "AND c.id < (SELECT MAX(l.id) FROM ProductChange l)")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
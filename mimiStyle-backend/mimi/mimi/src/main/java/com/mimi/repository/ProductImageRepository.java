@@ -4,10 +4,12 @@ import com.mimi.domain.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
     List<ProductImage> findByProductId(Long productId);
     List<ProductImage> findByProductIdAndImageUrl(Long productId, String imageUrl);
+    List<ProductImage> findByProductIdIn(Collection<Long> productIds);
 }
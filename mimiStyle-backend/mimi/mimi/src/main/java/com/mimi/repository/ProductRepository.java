@@ -2,11 +2,30 @@ package com.mimi.repository;
 
 import com.mimi.domain.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findBySellerId(Long sellerId);
+
+    /** Version only, for answering If-None-Match without loading the product. */
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    boolean existsBySellerId(Long sellerId);
+
+    /** The seller's name is part of each of their products, so a rename changes their ETags. */
+    @Modifying
+    @Query("UPDATE Product p SET p.version = p.version + 1 WHERE p.seller.id = :sellerId")
+    int bumpVersionsBySeller(@Param("sellerId") Long sellerId);
+
+    /** (status, count) of the seller's products, for the dashboard. */
+    @Query("SELECT p.status, COUNT(p) FROM Product p WHERE p.seller.id = :sellerId GROUP BY p.status")
+    List<Object[]> countBySellerGroupByStatus(@Param("sellerId") Long sellerId);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.mimi.repository;
+
+import com.mimi.domain.ProductVariant;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
+
+    /**
+     * Variants of the seller's products with at most {@code threshold} in stock, emptiest first,
+     * as (variantId, productId, productName, color, size, stockQuantity).
+     */
+    @Query("SELECT v.id, p.id, p.name, v.color, v.size, v.stockQuantity FROM ProductVariant v " +
+           "JOIN v.product p " +
+           "WHERE p.seller.id = :sellerId " +
+           "AND COALESCE(v.stockQuantity, 0) <= :threshold " +
+           "ORDER BY COALESCE(v.stockQuantity, 0), v.id")
+    List<Object[]> findLowStockBySeller(@Param("sellerId") Long sellerId,
+                                        @Param("threshold") int threshold,
+                                        Limit limit);
+}
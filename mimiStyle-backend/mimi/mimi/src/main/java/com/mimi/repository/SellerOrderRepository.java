@@ -0,0 +1,50 @@
+package com.mimi.repository;
+
+import com.mimi.domain.SellerOrder;
+import com.mimi.domain.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SellerOrderRepository extends JpaRepository<SellerOrder, Long> {
+
+    /**
+     * Seller inbox page, newest first: orders from {@code from} on that come strictly before
+     * position (before, beforeId). The first page passes the end of the date range as position.
+     */
+    @Query("SELECT s FROM SellerOrder s " +
+           "WHERE s.sellerId = :sellerId " +
+           "AND s.orderCreatedAt >= :from " +
+           "AND (s.orderCreatedAt < :before OR (s.orderCreatedAt = :before AND s.orderId < :beforeId)) " +
+           "ORDER BY s.orderCreatedAt DESC, s.orderId DESC")
+    List<SellerOrder> findInboxPage(@Param("sellerId") Long sellerId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("before") LocalDateTime before,
+                                    @Param("beforeId") Long beforeId,
+                                    Limit limit);
+
+    /** findInboxPage for one status, on the (seller_id, status, order_created_at) index. */
+    @Query("SELECT s FROM SellerOrder s " +
+           "WHERE s.sellerId = :sellerId " +
+           "AND s.status = :status " +
+           "AND s.orderCreatedAt >= :from " +
+           "AND (s.orderCreatedAt < :before OR (s.orderCreatedAt = :before AND s.orderId < :beforeId)) " +
+           "ORDER BY s.orderCreatedAt DESC, s.orderId DESC")
+    List<SellerOrder> findInboxPageByStatus(@Param("sellerId") Long sellerId,
+                                            @Param("status") OrderStatus status,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("before") LocalDateTime before,
+                                            @Param("beforeId") Long beforeId,
+                                            Limit limit);
+
+    @Modifying
+    @Query("UPDATE SellerOrder s SET s.status = :status WHERE s.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+}
@@ -0,0 +1,11 @@
+package com.mimi.repository;
+
+import com.mimi.domain.SellerSummary;
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+
+@org.springframework.stereotype.Repository
+public interface SellerSummaryRepository extends Repository<SellerSummary, Long> {
+    Optional<SellerSummary> findById(Long id);
+}
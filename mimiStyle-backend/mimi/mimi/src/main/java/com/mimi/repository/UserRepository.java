@@ -1,10 +1,15 @@
 package com.mimi.repository;
 
 import com.mimi.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -16,5 +21,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
+
+    Optional<User> findFirstByOrderByIdAsc();
+
+    /** For streamed responses; needs a transaction. The fetch size lets MySQL use a cursor (useCursorFetch). */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
 }
 
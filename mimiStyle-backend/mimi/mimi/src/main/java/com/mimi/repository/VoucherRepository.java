@@ -1,19 +1,37 @@
 package com.mimi.repository;
 
 import com.mimi.domain.Voucher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface VoucherRepository extends JpaRepository<Voucher, Long> {
 
+    /** Cached; usage counter writes evict only the voucher they change (VoucherUsageCounter). */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Voucher> findByCode(String code);
+
+    Optional<Voucher> findFirstByOrderByIdAsc();
+
     @Query("SELECT v FROM Voucher v WHERE (v.expirationDate IS NULL OR v.expirationDate > :now) " +
-           "AND (v.minOrderValue IS NULL OR v.minOrderValue <= :subtotal)")
+           "AND (v.minOrderValue IS NULL OR v.minOrderValue <= :subtotal) " +
+           "AND (v.usageLimit IS NULL OR v.usedCount < v.usageLimit)")
     List<Voucher> findApplicable(@Param("now") LocalDateTime now, @Param("subtotal") BigDecimal subtotal);
+
+    /** Next moment a voucher expires; part of the applicable-vouchers ETag since expiry changes the list. */
+    @Query("SELECT MIN(v.expirationDate) FROM Voucher v WHERE v.expirationDate > :now")
+    LocalDateTime findNextExpiration(@Param("now") LocalDateTime now);
+
+    @Query("SELECT v.usageLimit - v.usedCount FROM Voucher v WHERE v.id = :id")
+    Integer findRemainingUses(@Param("id") Long id);
 }
@@ -0,0 +1,13 @@
+package com.mimi.service;
+
+import com.mimi.dto.request.QuoteRequest;
+import com.mimi.dto.response.QuoteResponse;
+
+import java.math.BigDecimal;
+
+public interface CheckoutService {
+    QuoteResponse quote(QuoteRequest request);
+
+    /** Flat shipping fee ({@code checkout.shipping-fee}), charged by both the quote and the order. */
+    BigDecimal shippingFee();
+}
@@ -13,15 +13,25 @@ import com.mimi.repository.CategoryRepository;
 import com.mimi.repository.ProductRepository;
 import com.mimi.repository.UserRepository;
 import com.mimi.repository.VoucherRepository;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Seeds the default admin, categories and vouchers on an empty database. Runs in the background
+ * once the app has started instead of inside context startup; /health/ready reports not ready
+ * until it has finished.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DataInitializationService {
@@ -30,11 +40,36 @@ public class DataInitializationService {
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final VoucherRepository voucherRepository;
+    // Boot's task executor; matched by name, the scheduler is an AsyncTaskExecutor too
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    private final CompletableFuture<Void> seeded = new CompletableFuture<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        applicationTaskExecutor.execute(() -> {
+            try {
+                initializeData();
+                seeded.complete(null);
+            } catch (RuntimeException ex) {
+                log.error("Seeding data failed; the app stays not ready", ex);
+                seeded.completeExceptionally(ex);
+            }
+        });
+    }
+
+    /** Completes once seeding has finished (or failed). */
+    public CompletableFuture<Void> seeded() {
+        return seeded;
+    }
+
+    public boolean isSeeded() {
+        return seeded.isDone() && !seeded.isCompletedExceptionally();
+    }
 
-    @PostConstruct
     public void initializeData() {
-        // Create default user if not exists
-        if (userRepository.count() == 0) {
+        // Create default user if not exists (LIMIT 1 thay vì count(), không quét cả bảng)
+        if (userRepository.findFirstByOrderByIdAsc().isEmpty()) {
             User defaultUser = new User();
             defaultUser.setUsername("admin");
             defaultUser.setFullName("Admin User");
@@ -45,7 +80,7 @@ public class DataInitializationService {
         }
 
     //     // Create default categories if not exist
-        if (categoryRepository.count() == 0) {
+        if (categoryRepository.findFirstByOrderByIdAsc().isEmpty()) {
             String[] categoryNames = {
                 "Đồ chơi", "Quần áo", "Giày dép", "Xe đẩy", 
                 "Bình sữa", "Tã bỉm", "Sữa bột", "Nôi cũi",
@@ -198,7 +233,7 @@ public class DataInitializationService {
     //     }
 
     //     // Sample vouchers
-        if (voucherRepository.count() == 0) {
+        if (voucherRepository.findFirstByOrderByIdAsc().isEmpty()) {
             Voucher v1 = new Voucher();
             v1.setCode("GIAM50K");
             v1.setDiscountValue(new BigDecimal("50000"));
@@ -1,15 +1,25 @@
 package com.mimi.service;
 
 import com.mimi.domain.Order;
+import com.mimi.domain.enums.OrderStatus;
 import com.mimi.dto.request.CreateOrderRequest;
 import com.mimi.dto.request.UpdateOrderStatusRequest;
+import com.mimi.dto.response.CursorPage;
 import com.mimi.dto.response.OrderResponse;
+import com.mimi.dto.response.SellerOrderResponse;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
     Order createOrder(CreateOrderRequest request);
     Order updateOrderStatus(Long orderId, UpdateOrderStatusRequest request);
     List<Order> getOrdersByBuyer(Long buyerId);
     List<OrderResponse> getOrderResponsesByBuyer(Long buyerId);
+    OrderResponse toOrderResponse(Order order);
+    List<String> resolveOrderFields(String fields);
+    List<Map<String, Object>> getOrderFieldsByBuyer(Long buyerId, List<String> fields);
+    CursorPage<SellerOrderResponse> getSellerOrders(Long sellerId, OrderStatus status, LocalDate startDate,
+                                                    LocalDate endDate, String cursor, int limit);
 }
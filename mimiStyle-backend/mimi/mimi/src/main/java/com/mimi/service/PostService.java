@@ -0,0 +1,20 @@
+package com.mimi.service;
+
+import com.mimi.dto.request.CreateCommentRequest;
+import com.mimi.dto.request.CreatePostRequest;
+import com.mimi.dto.response.CommentResponse;
+import com.mimi.dto.response.CursorPage;
+import com.mimi.dto.response.LikeResponse;
+import com.mimi.dto.response.PostResponse;
+
+import java.util.List;
+
+public interface PostService {
+    CursorPage<PostResponse> getFeed(String cursor, int limit);
+    List<PostResponse> getTrending(int limit);
+    CursorPage<CommentResponse> getComments(Long postId, String cursor, int limit);
+    PostResponse createPost(CreatePostRequest request);
+    CommentResponse addComment(Long postId, CreateCommentRequest request);
+    LikeResponse likePost(Long postId, Long userId);
+    LikeResponse unlikePost(Long postId, Long userId);
+}
@@ -1,7 +1,12 @@
 package com.mimi.service;
 
 import com.mimi.domain.Product;
+import com.mimi.domain.ProductCard;
+import com.mimi.domain.ProductChange;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface ProductService {
     List<Product> getAllProducts();
@@ -10,4 +15,17 @@ public interface ProductService {
     Product updateProduct(Long id, Product product);
     void deleteProduct(Long id);
     Product getProductById(Long id);
+    Long getProductVersion(Long id);
+    void markChanged(Long id);
+    List<ProductCard> getProductCards();
+    Stream<ProductCard> streamProductCards();
+    List<ProductCard> getProductCardsByUserId(Long userId);
+    List<ProductCard> getProductCardsByIds(Collection<Long> ids);
+    List<String> resolveProductFields(String fields);
+    List<Map<String, Object>> getProductCardFields(List<String> fields);
+    List<Map<String, Object>> getProductCardFieldsByUserId(Long userId, List<String> fields);
+    List<Map<String, Object>> getProductCardFieldsByIds(Collection<Long> ids, List<String> fields);
+    Long getLatestChangeToken();
+    Long getOldestChangeToken();
+    List<ProductChange> getChangesSince(long token, int limit);
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.mimi.service;
 
+import com.mimi.domain.OrderItem;
 import com.mimi.dto.response.RevenueResponse;
 import com.mimi.dto.response.SoldProductResponse;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RevenueService {
     RevenueResponse getRevenueSummary(Long userId, LocalDate startDate, LocalDate endDate, String category);
     List<SoldProductResponse> getSoldProducts(Long userId, LocalDate startDate, LocalDate endDate, String category);
+    Stream<OrderItem> streamSoldItems(Long userId, LocalDate startDate, LocalDate endDate, String category);
+    List<SoldProductResponse> toSoldProductResponses(List<OrderItem> items);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.mimi.service;
+
+import com.mimi.dto.response.SellerDashboardResponse;
+
+public interface SellerDashboardService {
+    SellerDashboardResponse getDashboard(Long sellerId);
+}
@@ -0,0 +1,13 @@
+package com.mimi.service;
+
+import com.mimi.domain.User;
+import com.mimi.domain.Voucher;
+
+import java.math.BigDecimal;
+
+public interface VoucherService {
+    Voucher redeem(String code, User buyer, BigDecimal subtotal);
+    void reacquire(Voucher voucher, User buyer);
+    void release(Voucher voucher, User buyer);
+    BigDecimal discountFor(Voucher voucher, BigDecimal subtotal);
+}
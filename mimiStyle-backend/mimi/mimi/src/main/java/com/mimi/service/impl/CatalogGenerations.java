@@ -0,0 +1,63 @@
+package com.mimi.service.impl;
+
+import com.mimi.event.ProductChangedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Generation counters behind the list ETags, stored in {@code catalog_generations} so every
+ * instance agrees on them. A counter is bumped in the transaction that makes the change, so a
+ * reader sees the new generation exactly when it can see the new data. Bumping locks the counter
+ * row until commit, which serializes catalog writes; they are rare next to reads.
+ * <p>
+ * Lock order: a writer takes the counter row before any products or product_cards rows. Product
+ * updates are only flushed after {@link #onProductChanged} has run, inserts call {@link #lock}
+ * first, and seller renames ({@link ProductCardProjector#onSellerChanged}) bump first, so two writers never wait on
+ * each other in opposite order.
+ */
+@Component
+public class CatalogGenerations {
+
+    public static final String CATALOG = "catalog";
+    public static final String VOUCHERS = "vouchers";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogGenerations(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Current value, or null when the counter row does not exist (no ETag then). Read-only, so it
+     * is routed like the listing it tags: read it before the listing, and the tag is never newer
+     * than the data under it.
+     */
+    @Transactional(readOnly = true)
+    public Long current(String name) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT generation FROM catalog_generations WHERE name = ?", Long.class, name);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /** Takes the counter's row lock without bumping it, for writes that cannot wait for {@link #bump}. */
+    public void lock(String name) {
+        jdbcTemplate.queryForList("SELECT generation FROM catalog_generations WHERE name = ? FOR UPDATE", Long.class, name);
+    }
+
+    public void bump(String name) {
+        jdbcTemplate.update("UPDATE catalog_generations SET generation = generation + 1 WHERE name = ?", name);
+    }
+
+    /** First of the before-commit listeners: the change log relies on the lock taken here. */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump(CATALOG);
+    }
+}
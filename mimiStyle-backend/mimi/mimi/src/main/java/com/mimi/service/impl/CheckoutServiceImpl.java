@@ -0,0 +1,183 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.Product;
+import com.mimi.domain.ProductImage;
+import com.mimi.domain.Voucher;
+import com.mimi.domain.enums.ProductStatus;
+import com.mimi.dto.request.CreateOrderRequest;
+import com.mimi.dto.request.QuoteRequest;
+import com.mimi.dto.response.QuoteResponse;
+import com.mimi.metrics.CacheStats;
+import com.mimi.metrics.Metrics;
+import com.mimi.repository.ProductImageRepository;
+import com.mimi.repository.ProductRepository;
+import com.mimi.service.CheckoutService;
+import com.mimi.service.VoucherService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class CheckoutServiceImpl implements CheckoutService {
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final VoucherIndex voucherIndex;
+    private final VoucherService voucherService;
+    private final BigDecimal shippingFee;
+    private final long cacheTtlNanos;
+    private final int cacheMaxEntries;
+    private final CacheStats cacheStats;
+
+    /** Quotes keyed by the canonical cart, so re-renders of the same checkout are served from memory. */
+    private final Map<String, CachedQuote> quoteCache = new ConcurrentHashMap<>();
+
+    public CheckoutServiceImpl(ProductRepository productRepository,
+                               ProductImageRepository productImageRepository,
+                               VoucherIndex voucherIndex,
+                               VoucherService voucherService,
+                               Metrics metrics,
+                               @Value("${checkout.shipping-fee:20000}") BigDecimal shippingFee,
+                               @Value("${checkout.quote-cache.ttl-ms:10000}") long cacheTtlMs,
+                               @Value("${checkout.quote-cache.max-entries:10000}") int cacheMaxEntries) {
+        this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.voucherIndex = voucherIndex;
+        this.voucherService = voucherService;
+        this.shippingFee = shippingFee;
+        this.cacheTtlNanos = cacheTtlMs * 1_000_000L;
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.cacheStats = metrics.cache("checkout_quote");
+    }
+
+    /** Not transactional: a cache hit should not even borrow a connection. */
+    @Override
+    public QuoteResponse quote(QuoteRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Cart must have at least one item");
+        }
+        Map<Long, Integer> cart = normalize(request.getItems());
+        String voucherCode = request.getVoucherCode() != null && !request.getVoucherCode().isBlank()
+                ? request.getVoucherCode().trim() : null;
+        String key = cacheKey(cart, voucherCode);
+
+        long now = System.nanoTime();
+        CachedQuote cached = quoteCache.get(key);
+        if (cached != null && now - cached.createdAt < cacheTtlNanos) {
+            cacheStats.hit();
+            return cached.quote;
+        }
+        cacheStats.miss();
+        QuoteResponse quote = price(cart, voucherCode);
+        if (quoteCache.size() >= cacheMaxEntries) {
+            quoteCache.values().removeIf(c -> now - c.createdAt >= cacheTtlNanos);
+            if (quoteCache.size() >= cacheMaxEntries) {
+                quoteCache.clear();
+            }
+        }
+        quoteCache.put(key, new CachedQuote(quote, now));
+        return quote;
+    }
+
+    private QuoteResponse price(Map<Long, Integer> cart, String voucherCode) {
+        Map<Long, Product> products = productRepository.findAllById(cart.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, String> thumbnails = thumbnails(products.keySet());
+
+        List<QuoteResponse.QuoteLine> lines = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : cart.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                missing.add(entry.getKey());
+                continue;
+            }
+            int qty = entry.getValue();
+            BigDecimal price = product.getBuyPrice() != null ? product.getBuyPrice() : BigDecimal.ZERO;
+            BigDecimal lineTotal = price.multiply(BigDecimal.valueOf(qty));
+            boolean available = product.getStatus() == ProductStatus.ACTIVE;
+            if (available) {
+                subtotal = subtotal.add(lineTotal);
+            }
+            lines.add(new QuoteResponse.QuoteLine(product.getId(), product.getName(),
+                    thumbnails.get(product.getId()), qty, price, lineTotal, available));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Voucher voucher;
+        String voucherMessage = null;
+        if (voucherCode != null) {
+            voucher = voucherIndex.findByCode(voucherCode);
+            if (voucher == null) {
+                voucherMessage = "Voucher not found: " + voucherCode;
+            } else if (!voucherIndex.isApplicable(voucher, subtotal, now)) {
+                voucherMessage = "Voucher is not applicable to this order";
+                voucher = null;
+            }
+        } else {
+            voucher = voucherIndex.bestFor(subtotal, now);
+        }
+
+        BigDecimal discountAmount = voucherService.discountFor(voucher, subtotal);
+        BigDecimal finalAmount = subtotal.add(shippingFee).subtract(discountAmount);
+        if (finalAmount.compareTo(BigDecimal.ZERO) < 0) {
+            finalAmount = BigDecimal.ZERO;
+        }
+        return new QuoteResponse(lines, missing, subtotal, shippingFee, voucher, voucherMessage,
+                discountAmount, finalAmount);
+    }
+
+    @Override
+    public BigDecimal shippingFee() {
+        return shippingFee;
+    }
+
+    /** Thumbnail (or first image) per product, loaded in one query. */
+    private Map<Long, String> thumbnails(Collection<Long> productIds) {
+        Map<Long, String> result = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return result;
+        }
+        for (ProductImage img : productImageRepository.findByProductIdIn(productIds)) {
+            Long productId = img.getProduct().getId();
+            if (Boolean.TRUE.equals(img.getIsThumbnail()) || !result.containsKey(productId)) {
+                result.put(productId, img.getImageUrl());
+            }
+        }
+        return result;
+    }
+
+    /** Merges duplicate lines and orders by product id, so equal carts produce equal cache keys. */
+    private Map<Long, Integer> normalize(List<CreateOrderRequest.OrderItemRequest> items) {
+        Map<Long, Integer> cart = new TreeMap<>();
+        for (CreateOrderRequest.OrderItemRequest item : items) {
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("Product id is required");
+            }
+            int qty = item.getQuantity() != null && item.getQuantity() > 0 ? item.getQuantity() : 1;
+            cart.merge(item.getProductId(), qty, Integer::sum);
+        }
+        return cart;
+    }
+
+    private String cacheKey(Map<Long, Integer> cart, String voucherCode) {
+        StringBuilder sb = new StringBuilder(voucherCode != null ? voucherCode : "").append('|');
+        cart.forEach((id, qty) -> sb.append(id).append(':').append(qty).append(','));
+        return sb.toString();
+    }
+
+    private record CachedQuote(QuoteResponse quote, long createdAt) {
+    }
+}
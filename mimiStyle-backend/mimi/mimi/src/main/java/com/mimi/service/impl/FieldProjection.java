@@ -0,0 +1,97 @@
+package com.mimi.service.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets ({@code ?fields=id,name,buyPrice}): maps the field names of a response onto
+ * JPQL paths, so only the columns behind the requested fields are selected, mapped and
+ * serialized. Fields without a path are filled in by the caller (nested lists, split values).
+ * Instances are configured once, in a static initializer, and are read-only afterwards.
+ */
+public final class FieldProjection {
+
+    private final Map<String, String> paths = new LinkedHashMap<>();
+
+    /** A field read straight from {@code path}. */
+    public FieldProjection column(String field, String path) {
+        paths.put(field, path);
+        return this;
+    }
+
+    /** A field the caller computes; it keeps its place in the response order. */
+    public FieldProjection computed(String field) {
+        paths.put(field, null);
+        return this;
+    }
+
+    /**
+     * Requested fields in response order, always including {@code id}; null when {@code fields}
+     * is blank, meaning the full response.
+     */
+    public List<String> resolve(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : requested) {
+            if (!paths.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown field: " + field);
+            }
+        }
+        requested.add("id");
+        return paths.keySet().stream().filter(requested::contains).toList();
+    }
+
+    /** Columns to select for these fields plus {@code always} (e.g. a sort key), in response order. */
+    public List<String> columns(Collection<String> fields, String... always) {
+        Set<String> wanted = new LinkedHashSet<>(fields);
+        wanted.addAll(Arrays.asList(always));
+        return paths.entrySet().stream()
+                .filter(entry -> entry.getValue() != null && wanted.contains(entry.getKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** Runs {@code SELECT <columns> <from>}; each row holds the values in column order. */
+    public List<Object[]> select(EntityManager entityManager, List<String> columns, String from,
+                                 Map<String, ?> params) {
+        String select = columns.stream().map(paths::get).collect(Collectors.joining(", "));
+        Query query = entityManager.createQuery("SELECT " + select + " " + from);
+        params.forEach(query::setParameter);
+        List<?> rows = query.getResultList();
+        List<Object[]> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            // A single selected column comes back unwrapped
+            result.add(columns.size() == 1 ? new Object[] {row} : (Object[]) row);
+        }
+        return result;
+    }
+
+    public static Object value(List<String> columns, Object[] row, String column) {
+        return row[columns.indexOf(column)];
+    }
+
+    /** The requested fields of one row, in response order; computed fields start out null. */
+    public static Map<String, Object> toMap(List<String> fields, List<String> columns, Object[] row) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields) {
+            int index = columns.indexOf(field);
+            map.put(field, index >= 0 ? row[index] : null);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,145 @@
+package com.mimi.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Moves closed orders (COMPLETED / CANCELLED) older than {@code orders.archive.after-months}
+ * from orders/order_items into orders_archive/order_items_archive, one transaction per batch,
+ * so the hot tables only hold open and recent orders. Reads that need history
+ * (revenue, buyer order list, voucher limits) also query the archive.
+ * <p>
+ * On MySQL the archive tables are range-partitioned by month (db/vendor/mysql); the partition
+ * for each month is split off {@code p_future} here before rows are archived into it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiver {
+
+    private static final List<String> CLOSED_STATUSES = List.of("COMPLETED", "CANCELLED");
+    private static final List<String> PARTITIONED_TABLES = List.of("orders_archive", "order_items_archive");
+    /** p_old in V3_1 holds everything before this month. */
+    private static final YearMonth FIRST_MONTHLY_PARTITION = YearMonth.of(2025, 1);
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p(\\d{4})(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterMonths;
+    private final int batchSize;
+
+    public OrderArchiver(JdbcTemplate jdbcTemplate,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${orders.archive.after-months:12}") int afterMonths,
+                         @Value("${orders.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterMonths = afterMonths;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        archiveBefore(LocalDateTime.now().minusMonths(afterMonths));
+    }
+
+    /** Archives closed orders created before the cutoff; returns how many orders were moved. */
+    public int archiveBefore(LocalDateTime cutoff) {
+        preparePartitions(YearMonth.from(cutoff));
+        LocalDateTime archivedAt = LocalDateTime.now();
+        int moved = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> moveBatch(cutoff, archivedAt));
+            moved += batch;
+        } while (batch == batchSize);
+        if (moved > 0) {
+            log.info("Archived {} closed orders created before {}", moved, cutoff);
+        }
+        return moved;
+    }
+
+    private int moveBatch(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("statuses", CLOSED_STATUSES)
+                .addValue("cutoff", cutoff)
+                .addValue("limit", batchSize);
+        // Locks the rows so a concurrent status change waits for (and then misses) the move
+        List<Long> ids = namedJdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE status IN (:statuses) AND created_at < :cutoff " +
+                "ORDER BY created_at LIMIT :limit FOR UPDATE", params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        params.addValue("ids", ids).addValue("archivedAt", archivedAt);
+        namedJdbcTemplate.update(
+                "INSERT INTO orders_archive (id, buyer_id, voucher_id, total_amount, shipping_fee, discount_amount, " +
+                "final_amount, payment_method, status, shipping_name, shipping_phone, shipping_address, note, " +
+                "created_at, archived_at) " +
+                "SELECT id, buyer_id, voucher_id, total_amount, shipping_fee, discount_amount, " +
+                "final_amount, payment_method, status, shipping_name, shipping_phone, shipping_address, note, " +
+                "created_at, :archivedAt FROM orders WHERE id IN (:ids)", params);
+        namedJdbcTemplate.update(
+                "INSERT INTO order_items_archive (id, order_id, order_created_at, product_id, seller_id, product_name, " +
+                "variant_id, quantity, price, order_type, rent_duration) " +
+                "SELECT oi.id, oi.order_id, o.created_at, oi.product_id, p.seller_id, p.name, oi.variant_id, " +
+                "oi.quantity, oi.price, oi.order_type, oi.rent_duration " +
+                "FROM order_items oi JOIN orders o ON o.id = oi.order_id JOIN products p ON p.id = oi.product_id " +
+                "WHERE oi.order_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (:ids)", params);
+        namedJdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+        return ids.size();
+    }
+
+    /** Splits a partition per month off p_future, up to the cutoff month. MySQL only; DDL, so outside any transaction. */
+    private void preparePartitions(YearMonth upTo) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (database == null || !database.toLowerCase().contains("mysql")) {
+            return;
+        }
+        for (String table : PARTITIONED_TABLES) {
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT partition_name FROM information_schema.partitions " +
+                    "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL",
+                    String.class, table);
+            if (!partitions.contains("p_future")) {
+                // Not partitioned: the vendor migration is not on spring.flyway.locations
+                continue;
+            }
+            YearMonth next = FIRST_MONTHLY_PARTITION;
+            for (String partition : partitions) {
+                Matcher m = MONTHLY_PARTITION.matcher(partition);
+                if (m.matches()) {
+                    YearMonth month = YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                    if (!month.isBefore(next)) {
+                        next = month.plusMonths(1);
+                    }
+                }
+            }
+            for (YearMonth month = next; !month.isAfter(upTo); month = month.plusMonths(1)) {
+                jdbcTemplate.execute(String.format(
+                        "ALTER TABLE %s REORGANIZE PARTITION p_future INTO (" +
+                        "PARTITION p%d%02d VALUES LESS THAN ('%s'), PARTITION p_future VALUES LESS THAN (MAXVALUE))",
+                        table, month.getYear(), month.getMonthValue(), month.plusMonths(1).atDay(1)));
+                log.info("Added partition p{}{} to {}", month.getYear(), String.format("%02d", month.getMonthValue()), table);
+            }
+        }
+    }
+}
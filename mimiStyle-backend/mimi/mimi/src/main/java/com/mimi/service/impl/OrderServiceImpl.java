@@ -1,36 +1,90 @@
 package com.mimi.service.impl;
 
+import com.mimi.domain.ArchivedOrder;
 import com.mimi.domain.Order;
 import com.mimi.domain.OrderItem;
 import com.mimi.domain.Product;
 import com.mimi.domain.ProductImage;
+import com.mimi.domain.SellerOrder;
 import com.mimi.domain.User;
+import com.mimi.domain.Voucher;
+import com.mimi.domain.enums.OrderStatus;
 import com.mimi.domain.enums.OrderType;
 import com.mimi.dto.request.CreateOrderRequest;
 import com.mimi.dto.request.UpdateOrderStatusRequest;
+import com.mimi.dto.response.CursorPage;
 import com.mimi.dto.response.OrderItemResponse;
 import com.mimi.dto.response.OrderResponse;
+import com.mimi.dto.response.OrderStatusEvent;
+import com.mimi.dto.response.SellerOrderResponse;
+import com.mimi.event.EventBus;
+import com.mimi.event.EventTopics;
+import com.mimi.repository.ArchivedOrderItemRepository;
+import com.mimi.repository.ArchivedOrderRepository;
+import com.mimi.repository.OrderItemRepository;
 import com.mimi.repository.OrderRepository;
 import com.mimi.repository.ProductImageRepository;
 import com.mimi.repository.ProductRepository;
+import com.mimi.repository.SellerOrderRepository;
 import com.mimi.repository.UserRepository;
+import com.mimi.service.CheckoutService;
 import com.mimi.service.OrderService;
+import com.mimi.service.VoucherService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 50;
+    /** Open ends of the inbox date filter. */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    /** OrderResponse fields; the paths hold for both Order and ArchivedOrder. */
+    private static final FieldProjection ORDER_FIELDS = new FieldProjection()
+            .column("id", "o.id")
+            .column("createdAt", "o.createdAt")
+            .column("status", "o.status")
+            .column("shippingName", "o.shippingName")
+            .column("shippingPhone", "o.shippingPhone")
+            .column("shippingAddress", "o.shippingAddress")
+            .computed("shippingEmail")
+            .column("subtotal", "o.totalAmount")
+            .column("shippingFee", "o.shippingFee")
+            .column("discountAmount", "o.discountAmount")
+            .column("totalAmount", "o.finalAmount")
+            .computed("items");
+
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ProductImageRepository productImageRepository;
+    private final SellerOrderRepository sellerOrderRepository;
+    private final VoucherService voucherService;
+    private final CheckoutService checkoutService;
+    private final EventBus eventBus;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -61,8 +115,14 @@ public class OrderServiceImpl implements OrderService {
             orderItems.add(oi);
         }
 
-        BigDecimal shippingFee = request.getShippingFee() != null ? request.getShippingFee() : BigDecimal.ZERO;
-        BigDecimal discountAmount = request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO;
+        // Same fee as the quote; a client-side fee is ignored like the discount
+        BigDecimal shippingFee = checkoutService.shippingFee();
+        // Never trust a client-side discount: it comes only from a voucher redeemed here
+        Voucher voucher = null;
+        if (request.getVoucherCode() != null && !request.getVoucherCode().isBlank()) {
+            voucher = voucherService.redeem(request.getVoucherCode(), buyer, totalAmount);
+        }
+        BigDecimal discountAmount = voucherService.discountFor(voucher, totalAmount);
         BigDecimal finalAmount = totalAmount.add(shippingFee).subtract(discountAmount);
         if (finalAmount.compareTo(BigDecimal.ZERO) < 0) {
             finalAmount = BigDecimal.ZERO;
@@ -73,6 +133,7 @@ public class OrderServiceImpl implements OrderService {
         order.setTotalAmount(totalAmount);
         order.setShippingFee(shippingFee);
         order.setDiscountAmount(discountAmount);
+        order.setVoucher(voucher);
         order.setFinalAmount(finalAmount);
         order.setPaymentMethod(request.getPaymentMethod() != null ? request.getPaymentMethod() : com.mimi.domain.enums.PaymentMethod.COD);
         order.setShippingName(request.getShippingName() != null ? request.getShippingName() : buyer.getFullName());
@@ -85,7 +146,14 @@ public class OrderServiceImpl implements OrderService {
             oi.setOrder(order);
         }
         order.setOrderItems(orderItems);
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        // Một dòng seller_orders cho mỗi người bán có sản phẩm trong đơn
+        sellerOrderRepository.saveAll(orderItems.stream()
+                .map(oi -> oi.getProduct().getSeller().getId())
+                .distinct()
+                .map(sellerId -> new SellerOrder(sellerId, saved.getId(), saved.getCreatedAt(), saved.getStatus()))
+                .toList());
+        return saved;
     }
 
     @Override
@@ -93,25 +161,56 @@ public class OrderServiceImpl implements OrderService {
     public Order updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found"));
-        if (request.getStatus() != null) {
+        if (request.getStatus() != null && request.getStatus() != order.getStatus()) {
+            if (order.getVoucher() != null) {
+                if (request.getStatus() == OrderStatus.CANCELLED) {
+                    voucherService.release(order.getVoucher(), order.getBuyer());
+                } else if (order.getStatus() == OrderStatus.CANCELLED) {
+                    // Đơn bị huỷ được khôi phục: lấy lại lượt dùng voucher, lỗi nếu đã hết lượt
+                    voucherService.reacquire(order.getVoucher(), order.getBuyer());
+                }
+            }
+            publishStatusAfterCommit(order, order.getStatus(), request.getStatus());
             order.setStatus(request.getStatus());
+            sellerOrderRepository.updateStatus(orderId, request.getStatus());
         }
         return orderRepository.save(order);
     }
 
+    /** Pushes the transition to the buyer's SSE stream once it is committed. */
+    private void publishStatusAfterCommit(Order order, OrderStatus previous, OrderStatus status) {
+        String topic = EventTopics.buyerOrders(order.getBuyer().getId());
+        OrderStatusEvent event = new OrderStatusEvent(order.getId(), previous, status, LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventBus.publish(topic, "order-status", event);
+            }
+        });
+    }
+
+    /** Đơn hiện tại và đơn đã lưu trữ (orders_archive) của buyer, mới nhất trước. */
     @Override
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByBuyer(Long buyerId) {
-        return orderRepository.findByBuyerIdOrderByCreatedAtDesc(buyerId);
+        List<Order> orders = new ArrayList<>(orderRepository.findByBuyerIdOrderByCreatedAtDesc(buyerId));
+        List<ArchivedOrder> archived = archivedOrderRepository.findByBuyerIdWithItems(buyerId);
+        if (!archived.isEmpty()) {
+            archived.forEach(order -> orders.add(order.toOrder()));
+            orders.sort(Comparator.comparing(Order::getCreatedAt).reversed());
+        }
+        return orders;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrderResponsesByBuyer(Long buyerId) {
-        List<Order> orders = orderRepository.findByBuyerIdOrderByCreatedAtDesc(buyerId);
+        List<Order> orders = getOrdersByBuyer(buyerId);
         return orders.stream().map(this::toOrderResponse).collect(java.util.stream.Collectors.toList());
     }
 
-    private OrderResponse toOrderResponse(Order order) {
+    @Override
+    public OrderResponse toOrderResponse(Order order) {
         List<OrderItemResponse> itemResponses = order.getOrderItems() == null ? List.of() :
             order.getOrderItems().stream().map(oi -> {
                 String url = null;
@@ -146,4 +245,127 @@ public class OrderServiceImpl implements OrderService {
             itemResponses
         );
     }
+
+    /** Null for the full response; IllegalArgumentException for an unknown field. */
+    @Override
+    public List<String> resolveOrderFields(String fields) {
+        return ORDER_FIELDS.resolve(fields);
+    }
+
+    /** Only the requested columns; item lines are read only when {@code items} is requested. */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOrderFieldsByBuyer(Long buyerId, List<String> fields) {
+        // createdAt is the merge key of live and archived orders
+        List<String> columns = ORDER_FIELDS.columns(fields, "createdAt");
+        List<Object[]> rows = new ArrayList<>(ORDER_FIELDS.select(entityManager, columns,
+                "FROM Order o WHERE o.buyer.id = :buyerId ORDER BY o.createdAt DESC", Map.of("buyerId", buyerId)));
+        List<Object[]> archived = ORDER_FIELDS.select(entityManager, columns,
+                "FROM ArchivedOrder o WHERE o.buyerId = :buyerId ORDER BY o.createdAt DESC", Map.of("buyerId", buyerId));
+        if (!archived.isEmpty()) {
+            rows.addAll(archived);
+            rows.sort(Comparator.comparing((Object[] row) -> (LocalDateTime) FieldProjection.value(columns, row, "createdAt"))
+                    .reversed());
+        }
+        List<Map<String, Object>> orders = rows.stream().map(row -> FieldProjection.toMap(fields, columns, row)).toList();
+        if (fields.contains("items") && !orders.isEmpty()) {
+            fillItems(orders, !archived.isEmpty());
+        }
+        return orders;
+    }
+
+    /**
+     * Seller order inbox, newest first: the orders holding the seller's products, each with only
+     * the seller's lines. Pages walk seller_orders by (createdAt, id) on an index, so a page costs
+     * the same however many orders the seller has; headers and lines are then read for the page's
+     * orders only, from the archive too for orders that have moved there.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SellerOrderResponse> getSellerOrders(Long sellerId, OrderStatus status, LocalDate startDate,
+                                                           LocalDate endDate, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_INBOX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime from = startDate != null ? startDate.atStartOfDay() : EARLIEST;
+        // The first page starts just before the end of the range: (next midnight, id 0)
+        LocalDateTime before = endDate != null ? endDate.plusDays(1).atStartOfDay() : LATEST;
+        Long beforeId = 0L;
+        if (after != null && after.createdAt().isBefore(before)) {
+            before = after.createdAt();
+            beforeId = after.id();
+        }
+        // Fetch one extra row to know whether another page exists
+        List<SellerOrder> page = status == null
+                ? sellerOrderRepository.findInboxPage(sellerId, from, before, beforeId, Limit.of(size + 1))
+                : sellerOrderRepository.findInboxPageByStatus(sellerId, status, from, before, beforeId, Limit.of(size + 1));
+        boolean hasMore = page.size() > size;
+        if (hasMore) {
+            page = page.subList(0, size);
+        }
+        if (page.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Long> orderIds = page.stream().map(SellerOrder::getOrderId).toList();
+        Map<Long, Object[]> headers = new HashMap<>();
+        orderRepository.findHeadersByIdIn(orderIds).forEach(row -> headers.put((Long) row[0], row));
+        List<Long> archivedIds = orderIds.stream().filter(id -> !headers.containsKey(id)).toList();
+        List<Object[]> lines = new ArrayList<>(orderItemRepository.findSellerLinesByOrderIdIn(sellerId, orderIds));
+        if (!archivedIds.isEmpty()) {
+            archivedOrderRepository.findHeadersByIdIn(archivedIds).forEach(row -> headers.put((Long) row[0], row));
+            lines.addAll(archivedOrderItemRepository.findSellerLinesByOrderIdIn(sellerId, archivedIds));
+        }
+        Map<Long, List<OrderItemResponse>> items = toItemResponses(lines);
+
+        List<SellerOrderResponse> orders = new ArrayList<>(page.size());
+        for (SellerOrder entry : page) {
+            Object[] header = headers.get(entry.getOrderId());
+            if (header == null) {
+                continue;
+            }
+            List<OrderItemResponse> orderItems = items.getOrDefault(entry.getOrderId(), List.of());
+            BigDecimal sellerTotal = orderItems.stream()
+                    .map(OrderItemResponse::getLineTotal)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            orders.add(new SellerOrderResponse(entry.getOrderId(), (LocalDateTime) header[1], (OrderStatus) header[2],
+                    (String) header[3], (String) header[4], (String) header[5], (String) header[6],
+                    orderItems, sellerTotal));
+        }
+        SellerOrder last = page.get(page.size() - 1);
+        String next = hasMore ? new KeysetCursor(last.getOrderCreatedAt(), last.getOrderId()).encode() : null;
+        return new CursorPage<>(orders, next);
+    }
+
+    /** Same items as toOrderResponse, from one line query per table and one image query. */
+    private void fillItems(List<Map<String, Object>> orders, boolean withArchive) {
+        List<Long> orderIds = orders.stream().map(order -> (Long) order.get("id")).toList();
+        List<Object[]> lines = new ArrayList<>(orderItemRepository.findLinesByOrderIdIn(orderIds));
+        if (withArchive) {
+            lines.addAll(archivedOrderItemRepository.findLinesByOrderIdIn(orderIds));
+        }
+        Map<Long, List<OrderItemResponse>> items = toItemResponses(lines);
+        orders.forEach(order -> order.put("items", items.getOrDefault((Long) order.get("id"), List.of())));
+    }
+
+    /** (orderId, productId, productName, quantity, price) lines as item responses by order, with one image query. */
+    private Map<Long, List<OrderItemResponse>> toItemResponses(List<Object[]> lines) {
+        Set<Long> productIds = lines.stream().map(line -> (Long) line[1]).collect(Collectors.toSet());
+        // First image by id, as findByProductId returns them
+        Map<Long, String> imageUrls = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            productImageRepository.findByProductIdIn(productIds).stream()
+                    .sorted(Comparator.comparing(ProductImage::getId))
+                    .forEach(img -> imageUrls.putIfAbsent(img.getProduct().getId(), img.getImageUrl()));
+        }
+
+        Map<Long, List<OrderItemResponse>> items = new HashMap<>();
+        for (Object[] line : lines) {
+            Integer quantity = (Integer) line[3];
+            BigDecimal price = (BigDecimal) line[4];
+            items.computeIfAbsent((Long) line[0], id -> new ArrayList<>()).add(new OrderItemResponse(
+                    (Long) line[1], (String) line[2], imageUrls.get((Long) line[1]),
+                    quantity, price, price.multiply(BigDecimal.valueOf(quantity))));
+        }
+        return items;
+    }
 }
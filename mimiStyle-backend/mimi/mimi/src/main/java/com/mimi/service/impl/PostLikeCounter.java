@@ -0,0 +1,133 @@
+package com.mimi.service.impl;
+
+import com.mimi.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind maintenance of posts.total_likes.
+ * <p>
+ * Like/unlike only touch their own row in {@code likes}; the counter change is added to an
+ * in-memory delta per post and written in one JDBC batch per flush, so a viral post gets one
+ * UPDATE per interval instead of one per click. A slower reconciliation pass recounts posts
+ * from {@code likes} to repair any drift (deltas lost on crash or when an idle entry is
+ * dropped as a like arrives, races with the recount itself).
+ */
+@Component
+public class PostLikeCounter {
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int sweepSize;
+
+    private final Map<Long, LongAdder> deltas = new ConcurrentHashMap<>();
+    private final Set<Long> touchedSinceReconcile = ConcurrentHashMap.newKeySet();
+    private long sweepAfterId = 0;
+    /** Serializes flush and reconcile; not synchronized, both do JDBC while holding it. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PostLikeCounter(PostRepository postRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${post.likes.reconcile-sweep-size:500}") int sweepSize) {
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sweepSize = sweepSize;
+    }
+
+    public void add(Long postId, int delta) {
+        deltas.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+        touchedSinceReconcile.add(postId);
+    }
+
+    /** Likes recorded in memory but not yet written to posts.total_likes. */
+    public long pending(Long postId) {
+        LongAdder delta = deltas.get(postId);
+        return delta != null ? delta.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${post.likes.flush-interval-ms:1000}")
+    public void flush() {
+        lock.lock();
+        try {
+            flushLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<Object[]> batch = new ArrayList<>();
+        deltas.forEach((postId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                // Subtract what we read instead of resetting, so concurrent increments are kept
+                adder.add(-delta);
+                batch.add(new Object[] {delta, postId});
+            } else {
+                deltas.remove(postId, adder);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE posts SET total_likes = total_likes + ? WHERE id = ?", batch);
+        } catch (RuntimeException ex) {
+            for (Object[] row : batch) {
+                add((Long) row[1], ((Long) row[0]).intValue());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Recounts posts touched since the last run plus the next slice of all posts,
+     * so every post is eventually checked without scanning the table in one go.
+     */
+    @Scheduled(fixedDelayString = "${post.likes.reconcile-interval-ms:600000}",
+               initialDelayString = "${post.likes.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        lock.lock();
+        try {
+            reconcileLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reconcileLocked() {
+        flushLocked();
+        List<Long> ids = new ArrayList<>(touchedSinceReconcile);
+        touchedSinceReconcile.removeAll(ids);
+
+        List<Long> slice = postRepository.findIdsAfter(sweepAfterId, Limit.of(sweepSize));
+        sweepAfterId = slice.size() < sweepSize ? 0 : slice.get(slice.size() - 1);
+        ids.addAll(slice);
+
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> postRepository.recountLikes(ids));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
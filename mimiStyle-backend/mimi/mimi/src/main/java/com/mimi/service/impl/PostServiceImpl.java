@@ -0,0 +1,270 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.Comment;
+import com.mimi.domain.Post;
+import com.mimi.domain.PostImage;
+import com.mimi.domain.User;
+import com.mimi.dto.request.CreateCommentRequest;
+import com.mimi.dto.request.CreatePostRequest;
+import com.mimi.dto.response.CommentResponse;
+import com.mimi.dto.response.CursorPage;
+import com.mimi.dto.response.LikeResponse;
+import com.mimi.dto.response.PostResponse;
+import com.mimi.event.EventBus;
+import com.mimi.event.EventTopics;
+import com.mimi.repository.CommentRepository;
+import com.mimi.repository.LikeRepository;
+import com.mimi.repository.PostImageRepository;
+import com.mimi.repository.PostRepository;
+import com.mimi.repository.UserRepository;
+import com.mimi.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class PostServiceImpl implements PostService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PostRepository postRepository;
+    private final PostImageRepository postImageRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final LikeRepository likeRepository;
+    private final PostLikeCounter postLikeCounter;
+    private final TrendingPosts trendingPosts;
+    private final EventBus eventBus;
+
+    /**
+     * Feed page ordered newest first. Authors are join-fetched, images loaded with one
+     * IN query for the page, and like/comment counts come from the denormalized columns.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponse> getFeed(String cursor, int limit) {
+        int size = clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // Fetch one extra row to know whether another page exists
+        List<Post> posts = after == null
+                ? postRepository.findFeed(Limit.of(size + 1))
+                : postRepository.findFeedAfter(after.createdAt(), after.id(), Limit.of(size + 1));
+
+        boolean hasMore = posts.size() > size;
+        if (hasMore) {
+            posts = posts.subList(0, size);
+        }
+
+        Map<Long, List<String>> images = imagesByPost(posts.stream().map(Post::getId).toList());
+        List<PostResponse> items = posts.stream()
+                .map(p -> toPostResponse(p, images.getOrDefault(p.getId(), List.of())))
+                .toList();
+        String next = hasMore ? new KeysetCursor(posts.get(size - 1).getCreatedAt(), posts.get(size - 1).getId()).encode() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    /** Top posts from the in-memory TrendingPosts ranking, hydrated with one query for posts and one for images. */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostResponse> getTrending(int limit) {
+        List<Long> ids = trendingPosts.top(clamp(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> posts = new HashMap<>();
+        for (Post post : postRepository.findWithUserByIdIn(ids)) {
+            posts.put(post.getId(), post);
+        }
+        Map<Long, List<String>> images = imagesByPost(ids);
+        List<PostResponse> result = new ArrayList<>();
+        for (Long id : ids) {
+            Post post = posts.get(id);
+            if (post == null) {
+                // Deleted since it was ranked
+                trendingPosts.remove(id);
+                continue;
+            }
+            result.add(toPostResponse(post, images.getOrDefault(id, List.of())));
+        }
+        return result;
+    }
+
+    /** Comments of one post, oldest first, with their own cursor. */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getComments(Long postId, String cursor, int limit) {
+        int size = clamp(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Comment> comments = after == null
+                ? commentRepository.findByPost(postId, Limit.of(size + 1))
+                : commentRepository.findByPostAfter(postId, after.createdAt(), after.id(), Limit.of(size + 1));
+
+        boolean hasMore = comments.size() > size;
+        if (hasMore) {
+            comments = comments.subList(0, size);
+        }
+        List<CommentResponse> items = comments.stream().map(c -> toCommentResponse(c, postId)).toList();
+        String next = hasMore ? new KeysetCursor(comments.get(size - 1).getCreatedAt(), comments.get(size - 1).getId()).encode() : null;
+        return new CursorPage<>(items, next);
+    }
+
+    @Override
+    @Transactional
+    public PostResponse createPost(CreatePostRequest request) {
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            throw new IllegalArgumentException("Post content is required");
+        }
+
+        Post post = new Post();
+        post.setUser(user);
+        post.setContent(request.getContent().trim());
+        List<PostImage> images = new ArrayList<>();
+        if (request.getImages() != null) {
+            for (String name : request.getImages()) {
+                if (name != null && !name.isBlank()) {
+                    images.add(new PostImage(null, post, name.trim()));
+                }
+            }
+        }
+        post.setImages(images);
+        Post saved = postRepository.save(post);
+        afterCommit(() -> trendingPosts.record(saved.getId(), TrendingPosts.POST_WEIGHT, saved.getCreatedAt()));
+        return toPostResponse(saved, images.stream().map(PostImage::getImageUrl).toList());
+    }
+
+    @Override
+    @Transactional
+    public CommentResponse addComment(Long postId, CreateCommentRequest request) {
+        if (!postRepository.existsById(postId)) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            throw new IllegalArgumentException("Comment content is required");
+        }
+
+        Comment comment = new Comment();
+        comment.setPost(postRepository.getReferenceById(postId));
+        comment.setUser(user);
+        comment.setContent(request.getContent().trim());
+        Comment saved = commentRepository.save(comment);
+        postRepository.addComments(postId, 1);
+        CommentResponse response = toCommentResponse(saved, postId);
+        afterCommit(() -> {
+            trendingPosts.record(postId, TrendingPosts.COMMENT_WEIGHT);
+            eventBus.publish(EventTopics.postComments(postId), "comment", response);
+        });
+        return response;
+    }
+
+    /**
+     * Idempotent like: an INSERT IGNORE on the (post_id, user_id) unique key. The counter change
+     * goes to PostLikeCounter after commit instead of updating the posts row here.
+     */
+    @Override
+    @Transactional
+    public LikeResponse likePost(Long postId, Long userId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        if (userId == null || !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = likeRepository.insertIgnore(postId, userId, now);
+        countAfterCommit(postId, inserted, now);
+        return new LikeResponse(postId, true, totalLikes(post) + inserted);
+    }
+
+    @Override
+    @Transactional
+    public LikeResponse unlikePost(Long postId, Long userId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        LocalDateTime likedAt = likeRepository.findCreatedAt(postId, userId).orElse(null);
+        int deleted = likeRepository.deleteByPostIdAndUserId(postId, userId);
+        countAfterCommit(postId, -deleted, trendingPosts.likeCountedAt(likedAt, post.getCreatedAt()));
+        return new LikeResponse(postId, false, Math.max(0, totalLikes(post) - deleted));
+    }
+
+    /** {@code at}: when the like was made, also for an unlike (see TrendingPosts.likeCountedAt). */
+    private void countAfterCommit(Long postId, int delta, LocalDateTime at) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(() -> {
+            postLikeCounter.add(postId, delta);
+            trendingPosts.record(postId, delta * TrendingPosts.LIKE_WEIGHT, at);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Image urls per post, loaded with one IN query. */
+    private Map<Long, List<String>> imagesByPost(List<Long> postIds) {
+        Map<Long, List<String>> images = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (PostImage img : postImageRepository.findByPostIdIn(postIds)) {
+                images.computeIfAbsent(img.getPost().getId(), k -> new ArrayList<>()).add(img.getImageUrl());
+            }
+        }
+        return images;
+    }
+
+    /** Stored count plus likes not yet flushed by PostLikeCounter. */
+    private int totalLikes(Post post) {
+        int stored = post.getTotalLikes() != null ? post.getTotalLikes() : 0;
+        return (int) Math.max(0, stored + postLikeCounter.pending(post.getId()));
+    }
+
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private PostResponse toPostResponse(Post post, List<String> images) {
+        User author = post.getUser();
+        return new PostResponse(
+            post.getId(),
+            post.getContent(),
+            post.getCreatedAt(),
+            totalLikes(post),
+            post.getTotalComments() != null ? post.getTotalComments() : 0,
+            author.getId(),
+            author.getFullName(),
+            author.getAvatarUrl(),
+            images
+        );
+    }
+
+    private CommentResponse toCommentResponse(Comment comment, Long postId) {
+        User author = comment.getUser();
+        return new CommentResponse(
+            comment.getId(),
+            postId,
+            comment.getContent(),
+            comment.getCreatedAt(),
+            author.getId(),
+            author.getFullName(),
+            author.getAvatarUrl()
+        );
+    }
+}
@@ -0,0 +1,191 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.Product;
+import com.mimi.domain.ProductCard;
+import com.mimi.domain.ProductImage;
+import com.mimi.event.ProductChangedEvent;
+import com.mimi.event.SellerChangedEvent;
+import com.mimi.repository.ProductCardRepository;
+import com.mimi.repository.ProductImageRepository;
+import com.mimi.repository.ProductRepository;
+import com.mimi.repository.SellerSummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code product_cards} in step with products, their images and seller names.
+ * <p>
+ * Product and image changes are applied just before the writing transaction commits, so a card
+ * is never visible out of step with its product. Seller renames come from a JPA listener that may
+ * fire during the commit flush itself, so they are applied right after it in a transaction of
+ * their own. Products without a card (existing data, bulk SQL loads) are filled in at startup
+ * and by {@link #backfill()}.
+ */
+@Slf4j
+@Component
+public class ProductCardProjector {
+
+    private static final int BACKFILL_BATCH = 500;
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final SellerSummaryRepository sellerSummaryRepository;
+    private final ProductCardRepository productCardRepository;
+    private final CatalogGenerations catalogGenerations;
+    private final ProductChangeLog productChangeLog;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductCardProjector(ProductRepository productRepository,
+                                ProductImageRepository productImageRepository,
+                                SellerSummaryRepository sellerSummaryRepository,
+                                ProductCardRepository productCardRepository,
+                                CatalogGenerations catalogGenerations,
+                                ProductChangeLog productChangeLog,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.sellerSummaryRepository = sellerSummaryRepository;
+        this.productCardRepository = productCardRepository;
+        this.catalogGenerations = catalogGenerations;
+        this.productChangeLog = productChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() != null) {
+            transactionTemplate.executeWithoutResult(status -> refresh(List.of(event.productId())));
+        }
+    }
+
+    /**
+     * Everything that copies the seller's name follows a rename in one transaction: the catalog
+     * generation (bumped first, in the lock order of {@link CatalogGenerations}), the version of
+     * each of their products, the change log and the cards. Users without products are skipped.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onSellerChanged(SellerChangedEvent event) {
+        if (!productRepository.existsBySellerId(event.sellerId())) {
+            return;
+        }
+        catalogGenerations.bump(CatalogGenerations.CATALOG);
+        productRepository.bumpVersionsBySeller(event.sellerId());
+        productChangeLog.logSellerProducts(event.sellerId());
+        productCardRepository.renameSeller(event.sellerId(), event.fullName());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        int created = backfill();
+        if (created > 0) {
+            log.info("Created {} missing product cards", created);
+        }
+    }
+
+    /** Creates cards for products that have none; returns how many were created. */
+    public int backfill() {
+        int created = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Long> ids = productCardRepository.findProductIdsWithoutCard(from, Limit.of(BACKFILL_BATCH));
+            if (ids.isEmpty()) {
+                return created;
+            }
+            transactionTemplate.executeWithoutResult(status -> refresh(ids));
+            created += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    /** Rebuilds the cards of these products, deleting those whose product is gone. */
+    void refresh(Collection<Long> productIds) {
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, List<ProductImage>> images = products.isEmpty() ? Map.of()
+                : productImageRepository.findByProductIdIn(products.keySet()).stream()
+                        .collect(Collectors.groupingBy(img -> img.getProduct().getId()));
+        Map<Long, ProductCard> cards = productCardRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(ProductCard::getProductId, Function.identity()));
+
+        List<ProductCard> changed = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        for (Long id : productIds) {
+            Product product = products.get(id);
+            ProductCard card = cards.get(id);
+            if (product == null) {
+                if (card != null) {
+                    removed.add(id);
+                }
+                continue;
+            }
+            if (card == null) {
+                card = new ProductCard();
+                card.setProductId(id);
+            }
+            fill(card, product, images.getOrDefault(id, List.of()));
+            changed.add(card);
+        }
+        productCardRepository.saveAll(changed);
+        if (!removed.isEmpty()) {
+            productCardRepository.deleteAllByIdInBatch(removed);
+        }
+    }
+
+    private void fill(ProductCard card, Product product, List<ProductImage> images) {
+        card.setName(product.getName());
+        card.setDescription(product.getDescription());
+        card.setConditionPercentage(product.getConditionPercentage());
+        card.setTradeType(product.getTradeType());
+        card.setBuyPrice(product.getBuyPrice());
+        card.setRentPrice(product.getRentPrice());
+        card.setRentUnit(product.getRentUnit());
+        card.setStatus(product.getStatus());
+        card.setAddressContact(product.getAddressContact());
+        card.setFeatured(product.getFeatured());
+        card.setIsNew(product.getIsNew());
+        card.setCreatedAt(product.getCreatedAt());
+
+        card.setSellerId(null);
+        card.setSellerName(null);
+        if (product.getSeller() != null) {
+            // Tên người bán lấy từ second-level cache (getId() không khởi tạo proxy)
+            Long sellerId = product.getSeller().getId();
+            card.setSellerId(sellerId);
+            sellerSummaryRepository.findById(sellerId)
+                    .ifPresent(seller -> card.setSellerName(seller.getFullName()));
+        }
+        card.setCategoryId(product.getCategory() != null ? product.getCategory().getId() : null);
+        card.setCategoryName(product.getCategory() != null ? product.getCategory().getName() : null);
+
+        // Same order as ProductImageRepository.findByProductId; thumbnail flag wins, else the first image
+        List<ProductImage> ordered = images.stream().sorted(Comparator.comparing(ProductImage::getId)).toList();
+        card.setImageList(ordered.stream().map(ProductImage::getImageUrl).toList());
+        card.setThumbnailUrl(ordered.stream()
+                .filter(img -> Boolean.TRUE.equals(img.getIsThumbnail()))
+                .findFirst()
+                .or(() -> ordered.stream().findFirst())
+                .map(ProductImage::getImageUrl)
+                .orElse(null));
+        card.setUpdatedAt(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,73 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.ProductChange;
+import com.mimi.event.ProductChangedEvent;
+import com.mimi.repository.ProductChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes {@code product_changes}, the log behind GET /api/products/changes.
+ * <p>
+ * An auto-increment id is handed out at insert, not at commit, so two writers could commit their
+ * rows out of id order and a client polling in between would skip the lower one for good. Every
+ * entry is therefore inserted after the catalog generation has been bumped in the same
+ * transaction: that row lock is held until commit, so entries become visible in id order.
+ * Entries older than {@code product-changes.retention-days} are purged; clients with an older
+ * token get 410 and resync.
+ */
+@Slf4j
+@Component
+public class ProductChangeLog {
+
+    private final ProductChangeRepository productChangeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+    public ProductChangeLog(ProductChangeRepository productChangeRepository,
+                            JdbcTemplate jdbcTemplate,
+                            @Value("${product-changes.retention-days:30}") int retentionDays) {
+        this.productChangeRepository = productChangeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /** Runs after {@link CatalogGenerations#onProductChanged}, which takes the lock. */
+    @Order(1)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() != null) {
+            productChangeRepository.save(new ProductChange(event.productId(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Logs every product of the seller as changed (their name is part of each). Called by
+     * {@link ProductCardProjector#onSellerChanged} after it has bumped the catalog generation,
+     * whose lock keeps the entries in id order as above.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void logSellerProducts(Long sellerId) {
+        jdbcTemplate.update("INSERT INTO product_changes (product_id, changed_at) "
+                + "SELECT id, ? FROM products WHERE seller_id = ? ORDER BY id", LocalDateTime.now(), sellerId);
+    }
+
+    @Scheduled(cron = "${product-changes.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purge() {
+        int purged = productChangeRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} product change entries older than {} days", purged, retentionDays);
+        }
+    }
+}
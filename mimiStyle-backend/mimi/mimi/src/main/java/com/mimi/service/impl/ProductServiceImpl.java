@@ -2,23 +2,66 @@ package com.mimi.service.impl;
 
 import com.mimi.domain.Category;
 import com.mimi.domain.Product;
+import com.mimi.domain.ProductCard;
+import com.mimi.domain.ProductChange;
 import com.mimi.domain.User;
+import com.mimi.event.ProductChangedEvent;
 import com.mimi.repository.CategoryRepository;
+import com.mimi.repository.ProductCardRepository;
+import com.mimi.repository.ProductChangeRepository;
 import com.mimi.repository.ProductRepository;
 import com.mimi.repository.UserRepository;
 import com.mimi.service.ProductService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    /** Upper bound for one batch lookup (cart, wishlist, recently viewed). */
+    static final int MAX_BATCH_IDS = 500;
+
+    /** ProductResponse fields over product_cards, plus thumbnailUrl for grid views. */
+    private static final FieldProjection CARD_FIELDS = new FieldProjection()
+            .column("id", "c.productId")
+            .column("name", "c.name")
+            .column("description", "c.description")
+            .column("conditionPercentage", "c.conditionPercentage")
+            .column("tradeType", "c.tradeType")
+            .column("buyPrice", "c.buyPrice")
+            .column("rentPrice", "c.rentPrice")
+            .column("rentUnit", "c.rentUnit")
+            .column("status", "c.status")
+            .column("addressContact", "c.addressContact")
+            .column("featured", "c.featured")
+            .column("isNew", "c.isNew")
+            .column("createdAt", "c.createdAt")
+            .column("sellerId", "c.sellerId")
+            .column("sellerName", "c.sellerName")
+            .column("categoryId", "c.categoryId")
+            .column("categoryName", "c.categoryName")
+            .column("thumbnailUrl", "c.thumbnailUrl")
+            .column("images", "c.imageUrls");
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductCardRepository productCardRepository;
+    private final ProductChangeRepository productChangeRepository;
+    private final CatalogGenerations catalogGenerations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Override
     public List<Product> getAllProducts() {
@@ -31,6 +74,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public Product saveProduct(Product product) {
         // Nếu request gửi seller.id thì dùng user đó làm người bán; nếu không mới dùng user đầu tiên (mặc định)
         if (product.getSeller() != null && product.getSeller().getId() != null) {
@@ -38,22 +82,27 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new RuntimeException("Người bán không tồn tại"));
             product.setSeller(seller);
         } else if (product.getSeller() == null) {
-            User defaultSeller = userRepository.findAll().stream().findFirst()
+            User defaultSeller = userRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy người dùng trong hệ thống"));
             product.setSeller(defaultSeller);
         }
         
         // Set default category (first category) if not provided
         if (product.getCategory() == null) {
-            Category defaultCategory = categoryRepository.findAll().stream().findFirst()
+            Category defaultCategory = categoryRepository.findFirstByOrderByIdAsc()
                 .orElseThrow(() -> new RuntimeException("Không tìm thấy danh mục trong hệ thống"));
             product.setCategory(defaultCategory);
         }
         
-        return productRepository.save(product);
+        // The insert runs right away (identity id): take the catalog lock first, see CatalogGenerations
+        catalogGenerations.lock(CatalogGenerations.CATALOG);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
+    @Transactional
     public Product updateProduct(Long id, Product product) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -66,12 +115,16 @@ public class ProductServiceImpl implements ProductService {
         existingProduct.setStatus(product.getStatus());
         existingProduct.setTradeType(product.getTradeType());
         
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
     }
 
     @Override
@@ -79,4 +132,108 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
     }
-}
\ No newline at end of file
+
+    /** Null when the product does not exist. */
+    @Override
+    public Long getProductVersion(Long id) {
+        return productRepository.findVersionById(id).orElse(null);
+    }
+
+    /**
+     * For changes stored outside the products row (images): touches the product so its
+     * version, and with it the product's ETag, moves on.
+     */
+    @Override
+    @Transactional
+    public void markChanged(Long id) {
+        productRepository.findById(id).ifPresent(product -> product.setUpdatedAt(LocalDateTime.now()));
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+    }
+
+    @Override
+    public List<ProductCard> getProductCards() {
+        return productCardRepository.findAllByOrderByProductIdAsc();
+    }
+
+    /** Same rows as getProductCards; must be consumed (and closed) inside a transaction. */
+    @Override
+    public Stream<ProductCard> streamProductCards() {
+        return productCardRepository.streamAll();
+    }
+
+    @Override
+    public List<ProductCard> getProductCardsByUserId(Long userId) {
+        return productCardRepository.findBySellerIdOrderByProductIdAsc(userId);
+    }
+
+    @Override
+    public List<ProductCard> getProductCardsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        return productCardRepository.findAllById(ids);
+    }
+
+    /** Null for the full response; IllegalArgumentException for an unknown field. */
+    @Override
+    public List<String> resolveProductFields(String fields) {
+        return CARD_FIELDS.resolve(fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> getProductCardFields(List<String> fields) {
+        return selectCardFields(fields, "FROM ProductCard c ORDER BY c.productId", Map.of());
+    }
+
+    @Override
+    public List<Map<String, Object>> getProductCardFieldsByUserId(Long userId, List<String> fields) {
+        return selectCardFields(fields, "FROM ProductCard c WHERE c.sellerId = :sellerId ORDER BY c.productId",
+                Map.of("sellerId", userId));
+    }
+
+    @Override
+    public List<Map<String, Object>> getProductCardFieldsByIds(Collection<Long> ids, List<String> fields) {
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must not be empty");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        return selectCardFields(fields, "FROM ProductCard c WHERE c.productId IN :ids", Map.of("ids", ids));
+    }
+
+    private List<Map<String, Object>> selectCardFields(List<String> fields, String from, Map<String, ?> params) {
+        List<String> columns = CARD_FIELDS.columns(fields);
+        return CARD_FIELDS.select(entityManager, columns, from, params).stream()
+                .map(row -> {
+                    Map<String, Object> product = FieldProjection.toMap(fields, columns, row);
+                    // Same as the full response: no images is null, not an empty list
+                    product.computeIfPresent("images", (field, urls) -> {
+                        List<String> images = ProductCard.splitImageUrls((String) urls);
+                        return images.isEmpty() ? null : images;
+                    });
+                    return product;
+                })
+                .toList();
+    }
+
+    /** Null while the change log is empty. */
+    @Override
+    public Long getLatestChangeToken() {
+        return productChangeRepository.findLatestId();
+    }
+
+    /** Null while the change log is empty. */
+    @Override
+    public Long getOldestChangeToken() {
+        return productChangeRepository.findOldestId();
+    }
+
+    @Override
+    public List<ProductChange> getChangesSince(long token, int limit) {
+        return productChangeRepository.findByIdGreaterThanOrderByIdAsc(token, Limit.of(limit));
+    }
+}
@@ -1,9 +1,11 @@
 package com.mimi.service.impl;
 
+import com.mimi.domain.ArchivedOrderItem;
 import com.mimi.domain.OrderItem;
 import com.mimi.domain.ProductImage;
 import com.mimi.dto.response.RevenueResponse;
 import com.mimi.dto.response.SoldProductResponse;
+import com.mimi.repository.ArchivedOrderItemRepository;
 import com.mimi.repository.OrderItemRepository;
 import com.mimi.repository.ProductImageRepository;
 import com.mimi.service.RevenueService;
@@ -14,26 +16,41 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
 public class RevenueServiceImpl implements RevenueService {
 
     private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
     private final ProductImageRepository productImageRepository;
 
     @Override
     @Transactional(readOnly = true)
     public RevenueResponse getRevenueSummary(Long userId, LocalDate startDate, LocalDate endDate, String category) {
-        List<OrderItem> soldItems = getSoldItemsForSeller(userId, startDate, endDate, category);
-        BigDecimal totalRevenue = soldItems.stream()
-            .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        Integer totalProductsSold = soldItems.stream()
-            .mapToInt(OrderItem::getQuantity)
-            .sum();
+        // Tổng được tính trong DB (SUM) trên cả bảng hiện tại và bảng archive, không tải từng dòng
+        String categoryName = category != null && !category.isEmpty() ? category : null;
+        Object[] live = orderItemRepository.sumSoldItemsBySeller(userId,
+            startDate != null ? startDate.atStartOfDay() : null,
+            endDate != null ? endDate.atTime(23, 59, 59) : null, categoryName).get(0);
+        Object[] archived = archivedOrderItemRepository.sumSoldItemsBySeller(userId,
+            startDate != null ? startDate.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0),
+            endDate != null ? endDate.atTime(23, 59, 59) : LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            categoryName).get(0);
+        BigDecimal totalRevenue = amount(live[0]).add(amount(archived[0]));
+        Integer totalProductsSold = (int) (count(live[1]) + count(archived[1]));
         String period = formatPeriod(startDate, endDate);
         return new RevenueResponse(totalRevenue, totalProductsSold, period);
     }
@@ -42,38 +59,149 @@ public class RevenueServiceImpl implements RevenueService {
     @Transactional(readOnly = true)
     public List<SoldProductResponse> getSoldProducts(Long userId, LocalDate startDate, LocalDate endDate, String category) {
         List<OrderItem> soldItems = getSoldItemsForSeller(userId, startDate, endDate, category);
-        return soldItems.stream()
-            .map(this::mapToSoldProductResponse)
+        return toSoldProductResponses(soldItems);
+    }
+
+    /**
+     * Same rows and order as getSoldProducts, read as they are consumed: the live and archived
+     * results are merged by order date. Must be consumed (and closed) inside a transaction.
+     */
+    @Override
+    public Stream<OrderItem> streamSoldItems(Long userId, LocalDate startDate, LocalDate endDate, String category) {
+        Stream<OrderItem> live = orderItemRepository.streamSoldItemsBySeller(userId,
+            startDate != null ? startDate.atStartOfDay() : null,
+            endDate != null ? endDate.atTime(23, 59, 59) : null);
+        Stream<OrderItem> archived = archivedOrderItemRepository.streamSoldItemsBySeller(userId,
+            startDate != null ? startDate.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0),
+            endDate != null ? endDate.atTime(23, 59, 59) : LocalDateTime.of(9999, 12, 31, 23, 59, 59))
+            .map(ArchivedOrderItem::toOrderItem);
+        Stream<OrderItem> soldItems = mergeSorted(live, archived,
+            Comparator.comparing((OrderItem item) -> item.getOrder().getCreatedAt()).reversed());
+        if (category != null && !category.isEmpty()) {
+            soldItems = soldItems.filter(item -> matchesCategory(item, category));
+        }
+        return soldItems;
+    }
+
+    /** Ảnh của cả nhóm dòng đơn hàng được lấy bằng một query. */
+    @Override
+    public List<SoldProductResponse> toSoldProductResponses(List<OrderItem> items) {
+        List<Long> productIds = items.stream()
+            .filter(item -> item.getProduct() != null)
+            .map(item -> item.getProduct().getId())
+            .distinct()
+            .toList();
+        // First image by id, as findByProductId returns them
+        Map<Long, String> imageUrls = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            productImageRepository.findByProductIdIn(productIds).stream()
+                .sorted(Comparator.comparing(ProductImage::getId))
+                .forEach(img -> imageUrls.putIfAbsent(img.getProduct().getId(), img.getImageUrl()));
+        }
+        return items.stream()
+            .map(item -> mapToSoldProductResponse(item,
+                item.getProduct() != null ? imageUrls.get(item.getProduct().getId()) : null))
             .collect(Collectors.toList());
     }
 
-    /** Lấy order items của seller: không lọc ngày khi startDate/endDate đều null (lấy tất cả đơn đã bán). */
+    /** Tổng doanh thu (giá x số lượng) của các dòng đơn hàng. */
+    public static BigDecimal sumRevenue(List<OrderItem> items) {
+        return items.stream()
+            .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Lấy order items của seller: không lọc ngày khi startDate/endDate đều null (lấy tất cả đơn đã bán).
+     * Đơn đã đóng và cũ nằm trong orders_archive nên được gộp thêm từ bảng archive.
+     */
     private List<OrderItem> getSoldItemsForSeller(Long userId, LocalDate startDate, LocalDate endDate, String category) {
         List<OrderItem> soldItems;
         if (startDate == null && endDate == null) {
-            soldItems = orderItemRepository.findAllSoldItemsBySeller(userId);
+            soldItems = new ArrayList<>(orderItemRepository.findAllSoldItemsBySeller(userId));
         } else {
             LocalDateTime startDateTime = startDate != null ? startDate.atStartOfDay() : null;
             LocalDateTime endDateTime = endDate != null ? endDate.atTime(23, 59, 59) : null;
-            soldItems = orderItemRepository.findSoldItemsBySeller(userId, startDateTime, endDateTime);
+            soldItems = new ArrayList<>(orderItemRepository.findSoldItemsBySeller(userId, startDateTime, endDateTime));
+        }
+        // Open bounds become the widest range so the archive query always carries both
+        List<ArchivedOrderItem> archived = archivedOrderItemRepository.findSoldItemsBySeller(userId,
+            startDate != null ? startDate.atStartOfDay() : LocalDateTime.of(1970, 1, 1, 0, 0),
+            endDate != null ? endDate.atTime(23, 59, 59) : LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        if (!archived.isEmpty()) {
+            for (ArchivedOrderItem item : archived) {
+                soldItems.add(item.toOrderItem());
+            }
+            soldItems.sort(Comparator.comparing((OrderItem item) -> item.getOrder().getCreatedAt()).reversed());
         }
         if (category != null && !category.isEmpty()) {
             soldItems = soldItems.stream()
-                .filter(item -> item.getProduct() != null && item.getProduct().getCategory() != null
-                    && category.equalsIgnoreCase(item.getProduct().getCategory().getName()))
+                .filter(item -> matchesCategory(item, category))
                 .collect(Collectors.toList());
         }
         return soldItems;
     }
-    
-    private SoldProductResponse mapToSoldProductResponse(OrderItem orderItem) {
-        String imageUrl = null;
-        if (orderItem.getProduct() != null) {
-            List<ProductImage> imgs = productImageRepository.findByProductId(orderItem.getProduct().getId());
-            if (imgs != null && !imgs.isEmpty()) {
-                imageUrl = imgs.get(0).getImageUrl();
+
+    /** SUM over no rows is null. */
+    private static BigDecimal amount(Object sum) {
+        return sum != null ? (BigDecimal) sum : BigDecimal.ZERO;
+    }
+
+    private static long count(Object sum) {
+        return sum != null ? ((Number) sum).longValue() : 0;
+    }
+
+    private static boolean matchesCategory(OrderItem item, String category) {
+        return item.getProduct() != null && item.getProduct().getCategory() != null
+            && category.equalsIgnoreCase(item.getProduct().getCategory().getName());
+    }
+
+    /** Merges two streams that are each sorted by {@code order}; closing the result closes both. */
+    private static <T> Stream<T> mergeSorted(Stream<T> first, Stream<T> second, Comparator<T> order) {
+        Iterator<T> left = first.iterator();
+        Iterator<T> right = second.iterator();
+        Iterator<T> merged = new Iterator<>() {
+            private T nextLeft;
+            private T nextRight;
+
+            @Override
+            public boolean hasNext() {
+                return nextLeft != null || nextRight != null || left.hasNext() || right.hasNext();
             }
-        }
+
+            @Override
+            public T next() {
+                if (nextLeft == null && left.hasNext()) {
+                    nextLeft = left.next();
+                }
+                if (nextRight == null && right.hasNext()) {
+                    nextRight = right.next();
+                }
+                if (nextLeft == null && nextRight == null) {
+                    throw new NoSuchElementException();
+                }
+                T result;
+                if (nextRight == null || (nextLeft != null && order.compare(nextLeft, nextRight) <= 0)) {
+                    result = nextLeft;
+                    nextLeft = null;
+                } else {
+                    result = nextRight;
+                    nextRight = null;
+                }
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                try {
+                    first.close();
+                } finally {
+                    second.close();
+                }
+            });
+    }
+    
+    private SoldProductResponse mapToSoldProductResponse(OrderItem orderItem, String imageUrl) {
         if (imageUrl == null) imageUrl = "";
             
         String categoryName = orderItem.getProduct().getCategory() != null 
@@ -0,0 +1,178 @@
+package com.mimi.service.impl;
+
+import com.mimi.config.ReadYourWritesFilter;
+import com.mimi.domain.enums.OrderStatus;
+import com.mimi.domain.enums.ProductStatus;
+import com.mimi.dto.response.RevenueResponse;
+import com.mimi.dto.response.SellerDashboardResponse;
+import com.mimi.dto.response.SellerDashboardResponse.LowStockVariant;
+import com.mimi.dto.response.SellerDashboardResponse.RecentOrder;
+import com.mimi.repository.OrderItemRepository;
+import com.mimi.repository.ProductRepository;
+import com.mimi.repository.ProductVariantRepository;
+import com.mimi.repository.SellerSummaryRepository;
+import com.mimi.service.RevenueService;
+import com.mimi.service.SellerDashboardService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the seller dashboard by running its sections side by side, so the page waits for the
+ * slowest section rather than for all of them in turn. Sections run on a small pool of their own
+ * with a bounded queue: each holds a connection while it runs, and a burst of dashboards must not
+ * take the whole connection pool from other requests. A section that fails, times out
+ * ({@code seller-dashboard.section-timeout-ms}) or is turned away by a full queue is left out of
+ * the document and named in {@code unavailableSections}.
+ * <p>
+ * The timeout also bounds each section's transaction, which Spring passes to every statement as
+ * its query timeout: a section that has timed out is cancelled in the database too, instead of
+ * holding its connection and thread until the query finishes on its own.
+ */
+@Slf4j
+@Service
+public class SellerDashboardServiceImpl implements SellerDashboardService {
+
+    private static final int RECENT_ORDERS = 10;
+    private static final int LOW_STOCK_VARIANTS = 20;
+
+    private final SellerSummaryRepository sellerSummaryRepository;
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final RevenueService revenueService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long sectionTimeoutMs;
+    private final int lowStockThreshold;
+
+    public SellerDashboardServiceImpl(SellerSummaryRepository sellerSummaryRepository,
+                                      ProductRepository productRepository,
+                                      OrderItemRepository orderItemRepository,
+                                      ProductVariantRepository productVariantRepository,
+                                      RevenueService revenueService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${seller-dashboard.threads:4}") int threads,
+                                      @Value("${seller-dashboard.queue-size:100}") int queueSize,
+                                      @Value("${seller-dashboard.section-timeout-ms:2000}") long sectionTimeoutMs,
+                                      @Value("${seller-dashboard.low-stock-threshold:5}") int lowStockThreshold) {
+        this.sellerSummaryRepository = sellerSummaryRepository;
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.revenueService = revenueService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Transaction timeouts are whole seconds: round up so a section is never cut short
+        this.transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+                    Thread t = new Thread(r, "seller-dashboard-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    @Override
+    public SellerDashboardResponse getDashboard(Long sellerId) {
+        if (sellerSummaryRepository.findById(sellerId).isEmpty()) {
+            throw new IllegalArgumentException("Seller not found");
+        }
+        CompletableFuture<Map<ProductStatus, Long>> productCounts = section(() -> countProducts(sellerId));
+        CompletableFuture<RevenueResponse> revenue =
+                section(() -> revenueService.getRevenueSummary(sellerId, null, null, null));
+        CompletableFuture<List<RecentOrder>> recentOrders = section(() -> findRecentOrders(sellerId));
+        CompletableFuture<List<LowStockVariant>> lowStock = section(() -> findLowStockVariants(sellerId));
+
+        List<String> unavailable = new ArrayList<>();
+        SellerDashboardResponse dashboard = new SellerDashboardResponse();
+        dashboard.setSellerId(sellerId);
+        dashboard.setProductCounts(await("productCounts", productCounts, unavailable));
+        dashboard.setRevenue(await("revenue", revenue, unavailable));
+        dashboard.setRecentOrders(await("recentOrders", recentOrders, unavailable));
+        dashboard.setLowStockVariants(await("lowStockVariants", lowStock, unavailable));
+        dashboard.setUnavailableSections(unavailable);
+        return dashboard;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Starts a section in its own read-only transaction; its clock starts now. */
+    private <T> CompletableFuture<T> section(Supplier<T> query) {
+        Supplier<T> task = ReadYourWritesFilter.withRequestRouting(() -> transactionTemplate.execute(status -> query.get()));
+        try {
+            return CompletableFuture.supplyAsync(task, executor).orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            // Queue full
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> T await(String name, CompletableFuture<T> section, List<String> unavailable) {
+        try {
+            return section.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                log.warn("Dashboard section {} timed out after {} ms", name, sectionTimeoutMs);
+            } else {
+                log.warn("Dashboard section {} failed: {}", name, cause.toString());
+            }
+            unavailable.add(name);
+            return null;
+        }
+    }
+
+    private Map<ProductStatus, Long> countProducts(Long sellerId) {
+        Map<ProductStatus, Long> counts = new EnumMap<>(ProductStatus.class);
+        for (ProductStatus status : ProductStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : productRepository.countBySellerGroupByStatus(sellerId)) {
+            if (row[0] != null) {
+                counts.put((ProductStatus) row[0], (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    private List<RecentOrder> findRecentOrders(Long sellerId) {
+        return orderItemRepository.findRecentOrderSummariesBySeller(sellerId, Limit.of(RECENT_ORDERS)).stream()
+                .map(row -> new RecentOrder((Long) row[0], (LocalDateTime) row[1], (OrderStatus) row[2],
+                        (String) row[3], ((Number) row[4]).longValue(), (BigDecimal) row[5]))
+                .toList();
+    }
+
+    private List<LowStockVariant> findLowStockVariants(Long sellerId) {
+        return productVariantRepository.findLowStockBySeller(sellerId, lowStockThreshold, Limit.of(LOW_STOCK_VARIANTS))
+                .stream()
+                .map(row -> new LowStockVariant((Long) row[0], (Long) row[1], (String) row[2], (String) row[3],
+                        (String) row[4], (Integer) row[5]))
+                .toList();
+    }
+}
@@ -0,0 +1,165 @@
+package com.mimi.service.impl;
+
+import com.mimi.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Incrementally maintained "trending" ranking of posts.
+ * <p>
+ * A post's score is the sum of its engagement events, each weighted by exp(-age / tau).
+ * Every score decays by the same factor over time, so the order never changes by itself:
+ * each event is stored as weight * exp((t - epoch) / tau), kept in log space to avoid overflow.
+ * An event therefore only moves its own post inside a skip list, and top-K is a walk over
+ * the first K nodes.
+ */
+@Component
+public class TrendingPosts {
+
+    public static final double LIKE_WEIGHT = 1.0;
+    public static final double COMMENT_WEIGHT = 2.0;
+    /** Gives new posts a starting score so they can surface before any engagement. */
+    public static final double POST_WEIGHT = 1.0;
+
+    private static final Comparator<Entry> BY_SCORE_DESC =
+            Comparator.comparingDouble(Entry::logScore).reversed().thenComparing(Entry::postId);
+
+    private final PostRepository postRepository;
+    private final double tauSeconds;
+    private final int capacity;
+    private final int bootstrapDays;
+    private final long epochSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+
+    private volatile LocalDateTime bootstrappedAt = LocalDateTime.MIN;
+
+    private final NavigableSet<Entry> ranking = new ConcurrentSkipListSet<>(BY_SCORE_DESC);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public TrendingPosts(PostRepository postRepository,
+                         @Value("${post.trending.half-life-hours:24}") double halfLifeHours,
+                         @Value("${post.trending.capacity:10000}") int capacity,
+                         @Value("${post.trending.bootstrap-days:7}") int bootstrapDays) {
+        this.postRepository = postRepository;
+        this.tauSeconds = halfLifeHours * 3600 / Math.log(2);
+        this.capacity = capacity;
+        this.bootstrapDays = bootstrapDays;
+    }
+
+    /** Seeds recent posts from their stored counters, as if all engagement happened at creation. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        bootstrappedAt = LocalDateTime.now();
+        LocalDateTime since = LocalDateTime.now().minusDays(bootstrapDays);
+        for (Object[] row : postRepository.findEngagementSince(since)) {
+            int likes = row[2] != null ? (Integer) row[2] : 0;
+            int comments = row[3] != null ? (Integer) row[3] : 0;
+            record((Long) row[0], POST_WEIGHT + likes * LIKE_WEIGHT + comments * COMMENT_WEIGHT, (LocalDateTime) row[1]);
+        }
+    }
+
+    /** Adds (or with a negative weight, removes) engagement that happened at the given time. */
+    public void record(Long postId, double weight, LocalDateTime at) {
+        if (weight == 0) {
+            return;
+        }
+        double logEvent = Math.log(Math.abs(weight)) + (at.toEpochSecond(ZoneOffset.UTC) - epochSecond) / tauSeconds;
+        entries.compute(postId, (id, current) -> {
+            double logScore;
+            if (current == null) {
+                if (weight < 0) {
+                    return null;
+                }
+                logScore = logEvent;
+            } else if (weight > 0) {
+                logScore = logAddExp(current.logScore, logEvent);
+            } else {
+                double remaining = 1 - Math.exp(logEvent - current.logScore);
+                if (remaining <= 1e-9) {
+                    ranking.remove(current);
+                    return null;
+                }
+                logScore = current.logScore + Math.log(remaining);
+            }
+            Entry next = new Entry(id, logScore);
+            if (current != null) {
+                ranking.remove(current);
+            }
+            ranking.add(next);
+            return next;
+        });
+        trim();
+    }
+
+    public void record(Long postId, double weight) {
+        record(postId, weight, LocalDateTime.now());
+    }
+
+    /**
+     * When a like was added to its post's score, for taking it back at the same time on unlike:
+     * its own time if made since {@link #bootstrap}, otherwise the post's creation, where the
+     * bootstrap counted it. Removing it later would take back more than the like ever added.
+     */
+    public LocalDateTime likeCountedAt(LocalDateTime likedAt, LocalDateTime postCreatedAt) {
+        return likedAt != null && !likedAt.isBefore(bootstrappedAt) ? likedAt : postCreatedAt;
+    }
+
+    public void remove(Long postId) {
+        entries.computeIfPresent(postId, (id, current) -> {
+            ranking.remove(current);
+            return null;
+        });
+    }
+
+    /** Ids of the top posts, best first. */
+    public List<Long> top(int k) {
+        List<Long> ids = new ArrayList<>(k);
+        for (Entry entry : ranking) {
+            if (ids.size() == k) {
+                break;
+            }
+            ids.add(entry.postId);
+        }
+        return ids;
+    }
+
+    /** Current decayed score, for display or debugging. */
+    public double score(Long postId) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            return 0;
+        }
+        double nowOffset = (LocalDateTime.now().toEpochSecond(ZoneOffset.UTC) - epochSecond) / tauSeconds;
+        return Math.exp(entry.logScore - nowOffset);
+    }
+
+    /** Drops the lowest scores once the ranking grows past its capacity. */
+    private void trim() {
+        while (entries.size() > capacity) {
+            Entry last = ranking.pollLast();
+            if (last == null) {
+                return;
+            }
+            entries.remove(last.postId, last);
+        }
+    }
+
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private record Entry(Long postId, double logScore) {
+    }
+}
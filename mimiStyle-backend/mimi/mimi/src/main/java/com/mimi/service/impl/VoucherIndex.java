@@ -0,0 +1,69 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.Voucher;
+import com.mimi.repository.VoucherRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only in-memory snapshot of the vouchers table for pricing lookups.
+ * Vouchers change rarely, so the snapshot is rebuilt on a schedule instead of queried per request.
+ * Redemption still goes through VoucherService, which checks limits against the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class VoucherIndex {
+
+    private final VoucherRepository voucherRepository;
+
+    private volatile Snapshot snapshot;
+
+    public Voucher findByCode(String code) {
+        return snapshot().byCode.get(code.trim());
+    }
+
+    /** Voucher with the largest discount usable for this subtotal, or null. */
+    public Voucher bestFor(BigDecimal subtotal, LocalDateTime now) {
+        for (Voucher voucher : snapshot().byDiscountDesc) {
+            if (isApplicable(voucher, subtotal, now)) {
+                return voucher;
+            }
+        }
+        return null;
+    }
+
+    public boolean isApplicable(Voucher voucher, BigDecimal subtotal, LocalDateTime now) {
+        return (voucher.getExpirationDate() == null || voucher.getExpirationDate().isAfter(now))
+                && (voucher.getMinOrderValue() == null || voucher.getMinOrderValue().compareTo(subtotal) <= 0)
+                && (voucher.getUsageLimit() == null || voucher.getUsedCount() < voucher.getUsageLimit());
+    }
+
+    @Scheduled(fixedDelayString = "${voucher.index.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<Voucher> vouchers = voucherRepository.findAll();
+        snapshot = new Snapshot(
+                vouchers.stream().collect(Collectors.toUnmodifiableMap(Voucher::getCode, Function.identity())),
+                vouchers.stream()
+                        .sorted(Comparator.comparing(Voucher::getDiscountValue).reversed())
+                        .toList());
+    }
+
+    private Snapshot snapshot() {
+        if (snapshot == null) {
+            refresh();
+        }
+        return snapshot;
+    }
+
+    private record Snapshot(Map<String, Voucher> byCode, List<Voucher> byDiscountDesc) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.mimi.service.impl;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-buyer voucher use counts in {@code voucher_redemptions}, behind the per-user limit.
+ * <p>
+ * Both methods run in the caller's (order) transaction, so they roll back with it. Taking a use
+ * updates the buyer's row conditionally and holds its lock until commit: a concurrent checkout by
+ * the same buyer waits on the row and then checks the limit against the committed count.
+ */
+@Component
+public class VoucherRedemptions {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VoucherRedemptions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Counts one use by this buyer; false when it would go over {@code perUserLimit} (null: no limit). */
+    public boolean tryAcquire(Long voucherId, Long buyerId, Integer perUserLimit) {
+        jdbcTemplate.update("INSERT IGNORE INTO voucher_redemptions (voucher_id, buyer_id, used_count) VALUES (?, ?, 0)",
+                voucherId, buyerId);
+        if (perUserLimit == null) {
+            return jdbcTemplate.update("UPDATE voucher_redemptions SET used_count = used_count + 1 "
+                    + "WHERE voucher_id = ? AND buyer_id = ?", voucherId, buyerId) == 1;
+        }
+        return jdbcTemplate.update("UPDATE voucher_redemptions SET used_count = used_count + 1 "
+                + "WHERE voucher_id = ? AND buyer_id = ? AND used_count < ?", voucherId, buyerId, perUserLimit) == 1;
+    }
+
+    /** Gives back a use counted by {@link #tryAcquire}, e.g. when the order is cancelled. */
+    public void release(Long voucherId, Long buyerId) {
+        jdbcTemplate.update("UPDATE voucher_redemptions SET used_count = used_count - 1 "
+                + "WHERE voucher_id = ? AND buyer_id = ? AND used_count > 0", voucherId, buyerId);
+    }
+}
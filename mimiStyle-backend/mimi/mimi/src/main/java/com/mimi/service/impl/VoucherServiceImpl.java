@@ -0,0 +1,83 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.User;
+import com.mimi.domain.Voucher;
+import com.mimi.repository.VoucherRepository;
+import com.mimi.service.VoucherService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class VoucherServiceImpl implements VoucherService {
+
+    private final VoucherRepository voucherRepository;
+    private final VoucherUsageCounter voucherUsageCounter;
+    private final VoucherRedemptions voucherRedemptions;
+
+    /**
+     * Validates the voucher for this buyer and cart, then takes one use of it.
+     * The use is given back automatically if the surrounding transaction rolls back.
+     */
+    @Override
+    public Voucher redeem(String code, User buyer, BigDecimal subtotal) {
+        Voucher voucher = voucherRepository.findByCode(code.trim())
+                .orElseThrow(() -> new IllegalArgumentException("Voucher not found: " + code));
+        if (voucher.getExpirationDate() != null && !voucher.getExpirationDate().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Voucher has expired");
+        }
+        if (voucher.getMinOrderValue() != null && voucher.getMinOrderValue().compareTo(subtotal) > 0) {
+            throw new IllegalArgumentException("Order does not reach the voucher minimum value");
+        }
+        acquire(voucher, buyer);
+        return voucher;
+    }
+
+    /**
+     * Takes the voucher use back for a cancelled order that is being reactivated, subject to the
+     * same per-user and global limits as a new redemption.
+     */
+    @Override
+    public void reacquire(Voucher voucher, User buyer) {
+        acquire(voucher, buyer);
+    }
+
+    private void acquire(Voucher voucher, User buyer) {
+        // Per-user use is counted in the order's transaction and rolls back with it
+        if (!voucherRedemptions.tryAcquire(voucher.getId(), buyer.getId(), voucher.getPerUserLimit())) {
+            throw new IllegalArgumentException("Voucher usage limit reached for this user");
+        }
+        if (!voucherUsageCounter.tryAcquire(voucher)) {
+            throw new IllegalArgumentException("Voucher has been fully redeemed");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        voucherUsageCounter.release(voucher);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void release(Voucher voucher, User buyer) {
+        voucherRedemptions.release(voucher.getId(), buyer.getId());
+        voucherUsageCounter.release(voucher);
+    }
+
+    @Override
+    public BigDecimal discountFor(Voucher voucher, BigDecimal subtotal) {
+        if (voucher == null || voucher.getDiscountValue() == null) {
+            return BigDecimal.ZERO;
+        }
+        return voucher.getDiscountValue().min(subtotal);
+    }
+}
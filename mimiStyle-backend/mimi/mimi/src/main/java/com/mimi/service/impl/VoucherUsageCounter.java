@@ -0,0 +1,317 @@
+package com.mimi.service.impl;
+
+import com.mimi.domain.Voucher;
+import com.mimi.metrics.CacheStats;
+import com.mimi.metrics.Metrics;
+import com.mimi.repository.VoucherRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory voucher usage counters, so a popular code does not serialize checkouts on its
+ * {@code vouchers} row.
+ * <p>
+ * Limited vouchers: this instance leases blocks of uses from {@code used_count} with a
+ * conditional UPDATE in its own short transaction, then hands them out from striped local
+ * allowances. Allowance still unused {@code voucher.usage.lease-ttl-ms} after its lease is
+ * returned, as is all of it on shutdown; uses given back by rolled back or cancelled orders go
+ * straight to the database. Leases lost with a crashed instance are repaired by
+ * {@link #reconcile}, which recounts {@code used_count} from the orders once a voucher has had
+ * no lease for longer than any running instance keeps one.
+ * <p>
+ * Unlimited vouchers: uses are only counted, in a {@link LongAdder}, and flushed periodically.
+ * <p>
+ * {@code used_count} is written with plain JDBC and only that voucher is evicted from the
+ * second-level cache; a JPQL bulk update would clear the whole voucher region on every lease.
+ */
+@Slf4j
+@Component
+public class VoucherUsageCounter {
+
+    /** Longs per stripe slot, keeps neighbouring stripes on separate cache lines. */
+    private static final int PAD = 8;
+
+    private final VoucherRepository voucherRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CatalogGenerations catalogGenerations;
+    private final TransactionTemplate requiresNew;
+    private final int stripes;
+    private final int leaseSize;
+    private final long leaseTtlNanos;
+    /** A voucher leased before this long ago is held by no running instance. */
+    private final Duration quietPeriod;
+    private final Map<Long, Quota> quotas = new ConcurrentHashMap<>();
+    /** Hit: a use served from the local allowance; miss: had to lease from the database. */
+    private final CacheStats leaseStats;
+
+    public VoucherUsageCounter(VoucherRepository voucherRepository,
+                               JdbcTemplate jdbcTemplate,
+                               EntityManagerFactory entityManagerFactory,
+                               CatalogGenerations catalogGenerations,
+                               PlatformTransactionManager transactionManager,
+                               Metrics metrics,
+                               @Value("${voucher.usage.lease-size:16}") int leaseSize,
+                               @Value("${voucher.usage.lease-ttl-ms:60000}") long leaseTtlMs,
+                               @Value("${voucher.usage.flush-interval-ms:5000}") long flushIntervalMs) {
+        this.voucherRepository = voucherRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.catalogGenerations = catalogGenerations;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.stripes = Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+        this.leaseSize = Math.max(1, leaseSize);
+        this.leaseTtlNanos = TimeUnit.MILLISECONDS.toNanos(leaseTtlMs);
+        // Expired allowance goes back at the next flush; one more interval covers a slow flush
+        this.quietPeriod = Duration.ofMillis(leaseTtlMs + 2 * flushIntervalMs);
+        this.leaseStats = metrics.cache("voucher_lease");
+    }
+
+    /** Takes one use of the voucher; false when its global usage limit is exhausted. */
+    public boolean tryAcquire(Voucher voucher) {
+        Quota quota = quotas.computeIfAbsent(voucher.getId(), id -> new Quota());
+        if (voucher.getUsageLimit() == null) {
+            quota.unflushed.increment();
+            return true;
+        }
+        int home = ThreadLocalRandom.current().nextInt(stripes);
+        if (quota.takeAny(home)) {
+            leaseStats.hit();
+            return true;
+        }
+        // A lock rather than synchronized: leasing does JDBC and must not pin a virtual thread
+        quota.leaseLock.lock();
+        try {
+            // Another thread may have leased a new block while we waited
+            if (quota.takeAny(home)) {
+                leaseStats.hit();
+                return true;
+            }
+            leaseStats.miss();
+            int leased = lease(voucher.getId());
+            if (leased == 0) {
+                return false;
+            }
+            quota.put(home, leased - 1);
+            quota.leasedAt = System.nanoTime();
+            return true;
+        } finally {
+            quota.leaseLock.unlock();
+        }
+    }
+
+    /** Gives back a use taken by {@link #tryAcquire}, e.g. when the order rolls back or is cancelled. */
+    public void release(Voucher voucher) {
+        if (voucher.getUsageLimit() == null) {
+            quotas.computeIfAbsent(voucher.getId(), id -> new Quota()).unflushed.decrement();
+            return;
+        }
+        // Not into the local allowance: the lease it came from may already be reconciled
+        Long voucherId = voucher.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    returnUses(voucherId, 1);
+                }
+            });
+        } else {
+            returnUses(voucherId, 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${voucher.usage.flush-interval-ms:5000}")
+    public void flush() {
+        long now = System.nanoTime();
+        quotas.forEach((voucherId, quota) -> {
+            long delta = quota.unflushed.sum();
+            if (delta != 0) {
+                quota.unflushed.add(-delta);
+                try {
+                    requiresNew.executeWithoutResult(status -> {
+                        jdbcTemplate.update("UPDATE vouchers SET used_count = used_count + ? WHERE id = ?", delta, voucherId);
+                        usedCountChanged(voucherId);
+                    });
+                } catch (RuntimeException ex) {
+                    quota.unflushed.add(delta);
+                }
+            }
+            long leasedAt = quota.leasedAt;
+            if (leasedAt != 0 && now - leasedAt > leaseTtlNanos) {
+                returnAllowance(voucherId, quota);
+            }
+        });
+    }
+
+    /**
+     * Sets {@code used_count} of limited vouchers back to their non-cancelled orders (live and
+     * archived) once no instance can still hold a lease on them, which repairs uses leased by
+     * an instance that died without returning them. Each lease is checked once: the pass
+     * clears {@code leased_at}, and a lease in the meantime makes the update miss.
+     */
+    @Scheduled(fixedDelayString = "${voucher.usage.reconcile-interval-ms:600000}",
+               initialDelayString = "${voucher.usage.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(quietPeriod));
+        List<Lease> leases = jdbcTemplate.query(
+                "SELECT id, used_count, leased_at FROM vouchers WHERE leased_at < ?",
+                (rs, row) -> new Lease(rs.getLong(1), rs.getInt(2), rs.getTimestamp(3)), cutoff);
+        for (Lease lease : leases) {
+            Long voucherId = lease.voucherId();
+            int usedCount = lease.usedCount();
+            Integer orders = jdbcTemplate.queryForObject(
+                    "SELECT (SELECT COUNT(*) FROM orders WHERE voucher_id = ? AND status <> 'CANCELLED')"
+                            + " + (SELECT COUNT(*) FROM orders_archive WHERE voucher_id = ? AND status <> 'CANCELLED')",
+                    Integer.class, voucherId, voucherId);
+            int consumed = orders != null ? orders : 0;
+            requiresNew.executeWithoutResult(status -> {
+                int updated = jdbcTemplate.update("UPDATE vouchers SET used_count = ?, leased_at = NULL "
+                        + "WHERE id = ? AND used_count = ? AND leased_at = ?", consumed, voucherId, usedCount, lease.leasedAt());
+                if (updated == 1 && consumed != usedCount) {
+                    log.warn("Voucher {}: used_count {} but {} orders use it; unreturned leases corrected",
+                            voucherId, usedCount, consumed);
+                    usedCountChanged(voucherId);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        quotas.forEach(this::returnAllowance);
+    }
+
+    private void returnAllowance(Long voucherId, Quota quota) {
+        quota.leaseLock.lock();
+        try {
+            long unused = quota.drain();
+            quota.leasedAt = 0;
+            if (unused > 0) {
+                try {
+                    returnUses(voucherId, unused);
+                } catch (RuntimeException ex) {
+                    // Kept for the next flush; if this instance dies first, reconcile repairs it
+                    quota.put(0, unused);
+                    quota.leasedAt = System.nanoTime() - leaseTtlNanos;
+                }
+            }
+        } finally {
+            quota.leaseLock.unlock();
+        }
+    }
+
+    private void returnUses(Long voucherId, long n) {
+        requiresNew.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE vouchers SET used_count = used_count - ? WHERE id = ? AND used_count >= ?",
+                    n, voucherId, n);
+            usedCountChanged(voucherId);
+        });
+    }
+
+    /**
+     * Reserves a block of uses in the database. Blocks shrink as the voucher nears its limit
+     * so the last uses are spread across instances instead of parked on one of them.
+     */
+    private int lease(Long voucherId) {
+        Integer leased = requiresNew.execute(status -> {
+            int n = leaseSize;
+            while (n > 0) {
+                // Giữ trước n lượt dùng; 0 dòng nếu voucher không còn đủ lượt
+                if (jdbcTemplate.update("UPDATE vouchers SET used_count = used_count + ?, leased_at = ? WHERE id = ? "
+                        + "AND (usage_limit IS NULL OR used_count + ? <= usage_limit)",
+                        n, Timestamp.valueOf(LocalDateTime.now()), voucherId, n) == 1) {
+                    usedCountChanged(voucherId);
+                    return n;
+                }
+                Integer remaining = voucherRepository.findRemainingUses(voucherId);
+                if (remaining == null || remaining <= 0) {
+                    return 0;
+                }
+                n = Math.min(n - 1, Math.max(1, remaining / 4));
+            }
+            return 0;
+        });
+        return leased != null ? leased : 0;
+    }
+
+    /**
+     * usedCount is cached with the voucher and part of the applicable-vouchers response. Evicts
+     * again after completion so a concurrent read cannot put the old row back in the meantime.
+     */
+    private void usedCountChanged(Long voucherId) {
+        catalogGenerations.bump(CatalogGenerations.VOUCHERS);
+        evict(voucherId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(voucherId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long voucherId) {
+        entityManagerFactory.getCache().evict(Voucher.class, voucherId);
+    }
+
+    private record Lease(Long voucherId, int usedCount, Timestamp leasedAt) {
+    }
+
+    private final class Quota {
+        final AtomicLongArray allowance = new AtomicLongArray(stripes * PAD);
+        final LongAdder unflushed = new LongAdder();
+        final ReentrantLock leaseLock = new ReentrantLock();
+        /** System.nanoTime() of the last lease, 0 while nothing is leased. */
+        volatile long leasedAt;
+
+        boolean takeAny(int home) {
+            for (int i = 0; i < stripes; i++) {
+                int slot = ((home + i) & (stripes - 1)) * PAD;
+                long v;
+                while ((v = allowance.get(slot)) > 0) {
+                    if (allowance.compareAndSet(slot, v, v - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void put(int stripe, long n) {
+            allowance.addAndGet(stripe * PAD, n);
+        }
+
+        long drain() {
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += allowance.getAndSet(i * PAD, 0);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+-- Uses of each voucher per buyer, for the per-user limit (VoucherRedemptions). A use is taken
+-- with a conditional UPDATE of the buyer's row in the order's transaction, so two checkouts by
+-- the same buyer are serialized on that row instead of both passing a count of their orders.
+create table voucher_redemptions (
+    used_count integer not null,
+    buyer_id bigint not null,
+    voucher_id bigint not null,
+    primary key (voucher_id, buyer_id)
+) engine=InnoDB;
+
+INSERT INTO voucher_redemptions (voucher_id, buyer_id, used_count)
+SELECT voucher_id, buyer_id, COUNT(*)
+FROM (SELECT voucher_id, buyer_id FROM orders WHERE voucher_id IS NOT NULL AND status <> 'CANCELLED'
+      UNION ALL
+      SELECT voucher_id, buyer_id FROM orders_archive WHERE voucher_id IS NOT NULL AND status <> 'CANCELLED') used
+GROUP BY voucher_id, buyer_id;
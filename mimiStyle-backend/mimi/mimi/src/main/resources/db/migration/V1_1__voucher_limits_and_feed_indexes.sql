@@ -0,0 +1,15 @@
+-- Changes made after the release baselined by V1: server-side voucher limits (orders.voucher_id,
+-- vouchers usage counters) and the keyset indexes of the community feed and comment lists.
+
+ALTER TABLE vouchers ADD COLUMN usage_limit integer;
+ALTER TABLE vouchers ADD COLUMN per_user_limit integer;
+ALTER TABLE vouchers ADD COLUMN used_count integer default 0 not null;
+
+ALTER TABLE orders ADD COLUMN voucher_id bigint;
+ALTER TABLE orders ADD CONSTRAINT FKdimvsocblb17f45ikjr6xn1wj FOREIGN KEY (voucher_id) REFERENCES vouchers (id);
+
+-- Feed pages: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_posts_created_at_id ON posts (created_at, id);
+
+-- Comment pages of one post
+CREATE INDEX idx_comments_post_created_at_id ON comments (post_id, created_at, id);
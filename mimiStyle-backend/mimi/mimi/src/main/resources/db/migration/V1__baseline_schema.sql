@@ -0,0 +1,250 @@
+-- Baseline: the schema as Hibernate created it (ddl-auto=update) before Flyway took over.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs on an empty database.
+
+create table baby_profiles (
+    birth_date date,
+    due_date date,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    name varchar(255),
+    gender enum ('BOY','GIRL','UNKNOWN'),
+    status enum ('BORN','PREGNANT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table categories (
+    id bigint not null auto_increment,
+    parent_id bigint,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table comments (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    user_id bigint not null,
+    content TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table likes (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table order_items (
+    price decimal(19,2) not null,
+    quantity integer not null,
+    rent_duration integer,
+    id bigint not null auto_increment,
+    order_id bigint not null,
+    product_id bigint not null,
+    variant_id bigint,
+    order_type enum ('BUY','RENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    discount_amount decimal(19,2),
+    final_amount decimal(19,2) not null,
+    shipping_fee decimal(19,2),
+    total_amount decimal(19,2) not null,
+    buyer_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    note TEXT,
+    shipping_address varchar(255) not null,
+    shipping_name varchar(255) not null,
+    shipping_phone varchar(255) not null,
+    payment_method enum ('BANK_TRANSFER','COD','VNPAY') not null,
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','PENDING','SHIPPING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table post_images (
+    id bigint not null auto_increment,
+    post_id bigint not null,
+    image_url varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table posts (
+    total_comments integer,
+    total_likes integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    content TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_certificates (
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    image_url varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_images (
+    is_thumbnail bit,
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    image_url varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table product_variants (
+    stock_quantity integer,
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    color varchar(255),
+    size varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table products (
+    buy_price decimal(19,2),
+    condition_percentage integer,
+    deposit decimal(19,2),
+    is_featured bit,
+    is_new bit,
+    rent_price decimal(19,2),
+    category_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    seller_id bigint not null,
+    address_contact varchar(255),
+    description TEXT,
+    name varchar(255) not null,
+    specifications TEXT,
+    rent_unit enum ('DAY','MONTH','WEEK'),
+    status enum ('ACTIVE','HIDDEN','SOLD_OUT') not null,
+    trade_type enum ('BOTH','BUY_ONLY','RENT_ONLY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    birthday date,
+    page_views integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    address varchar(255),
+    avatar_url varchar(255),
+    email varchar(255) not null,
+    full_name varchar(255),
+    password varchar(255) not null,
+    phone_number varchar(255),
+    username varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table vouchers (
+    discount_value decimal(19,2) not null,
+    min_order_value decimal(19,2),
+    expiration_date datetime(6),
+    id bigint not null auto_increment,
+    code varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table likes
+   add constraint UK2jovqhqo324cubdomovkex03b unique (post_id, user_id);
+
+alter table users
+   add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table users
+   add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table vouchers
+   add constraint UK30ftp2biebbvpik8e49wlmady unique (code);
+
+alter table baby_profiles
+   add constraint FK57umhyjke728m6chlcck68lxa
+   foreign key (user_id)
+   references users (id);
+
+alter table categories
+   add constraint FKsaok720gsu4u2wrgbk10b5n8d
+   foreign key (parent_id)
+   references categories (id);
+
+alter table comments
+   add constraint FKh4c7lvsc298whoyd4w9ta25cr
+   foreign key (post_id)
+   references posts (id);
+
+alter table comments
+   add constraint FK8omq0tc18jd43bu5tjh6jvraq
+   foreign key (user_id)
+   references users (id);
+
+alter table likes
+   add constraint FKry8tnr4x2vwemv2bb0h5hyl0x
+   foreign key (post_id)
+   references posts (id);
+
+alter table likes
+   add constraint FKnvx9seeqqyy71bij291pwiwrg
+   foreign key (user_id)
+   references users (id);
+
+alter table order_items
+   add constraint FKbioxgbv59vetrxe0ejfubep1w
+   foreign key (order_id)
+   references orders (id);
+
+alter table order_items
+   add constraint FKocimc7dtr037rh4ls4l95nlfi
+   foreign key (product_id)
+   references products (id);
+
+alter table order_items
+   add constraint FKemq71edpbn9wsxnxncfn1algp
+   foreign key (variant_id)
+   references product_variants (id);
+
+alter table orders
+   add constraint FKhtx3insd5ge6w486omk4fnk54
+   foreign key (buyer_id)
+   references users (id);
+
+alter table post_images
+   add constraint FKo1i5va2d8de9mwq727vxh0s05
+   foreign key (post_id)
+   references posts (id);
+
+alter table posts
+   add constraint FK5lidm6cqbc7u4xhqpxm898qme
+   foreign key (user_id)
+   references users (id);
+
+alter table product_certificates
+   add constraint FK963gfku0brog21kdlg9gpaqr8
+   foreign key (product_id)
+   references products (id);
+
+alter table product_images
+   add constraint FKqnq71xsohugpqwf3c9gxmsuy
+   foreign key (product_id)
+   references products (id);
+
+alter table product_variants
+   add constraint FKosqitn4s405cynmhb87lkvuau
+   foreign key (product_id)
+   references products (id);
+
+alter table products
+   add constraint FKog2rp4qthbtt2lfyhfo32lsw9
+   foreign key (category_id)
+   references categories (id);
+
+alter table products
+   add constraint FKbgw3lyxhsml3kfqnfr45o0vbj
+   foreign key (seller_id)
+   references users (id);
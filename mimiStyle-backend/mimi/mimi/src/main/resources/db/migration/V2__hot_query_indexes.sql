@@ -0,0 +1,18 @@
+-- Indexes for the hot repository queries. On MySQL each of these also takes over from the
+-- index InnoDB created implicitly for the foreign key on its leading column, which is then
+-- dropped, so no column ends up indexed twice.
+
+-- ProductRepository.findBySellerId, seller listings
+CREATE INDEX idx_products_seller_id ON products (seller_id);
+
+-- Active listings, newest first
+CREATE INDEX idx_products_status_created_at ON products (status, created_at);
+
+-- Product images / thumbnail per product
+CREATE INDEX idx_product_images_product_thumbnail ON product_images (product_id, is_thumbnail);
+
+-- OrderRepository.findByBuyerIdOrderByCreatedAtDesc: filter and sort from the index
+CREATE INDEX idx_orders_buyer_created_at ON orders (buyer_id, created_at);
+
+-- Seller revenue / sold items: order_items by product, joined to orders
+CREATE INDEX idx_order_items_product_order ON order_items (product_id, order_id);
@@ -0,0 +1,48 @@
+-- Cold storage for closed orders, filled by OrderArchiver. Same columns as orders/order_items
+-- but no foreign keys: MySQL cannot partition tables that have them, and archived rows must not
+-- block deleting users or products. Archived lines therefore copy the seller and product name,
+-- so revenue and order history survive the product being deleted. The primary keys include the date column so the MySQL-only
+-- migration in db/vendor/mysql can partition both tables by month.
+create table orders_archive (
+    discount_amount decimal(19,2),
+    final_amount decimal(19,2) not null,
+    shipping_fee decimal(19,2),
+    total_amount decimal(19,2) not null,
+    archived_at datetime(6) not null,
+    buyer_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null,
+    voucher_id bigint,
+    note TEXT,
+    shipping_address varchar(255) not null,
+    shipping_name varchar(255) not null,
+    shipping_phone varchar(255) not null,
+    payment_method enum ('BANK_TRANSFER','COD','VNPAY') not null,
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','PENDING','SHIPPING') not null,
+    primary key (id, created_at)
+) engine=InnoDB;
+
+create table order_items_archive (
+    price decimal(19,2) not null,
+    quantity integer not null,
+    rent_duration integer,
+    id bigint not null,
+    order_created_at datetime(6) not null,
+    order_id bigint not null,
+    product_id bigint not null,
+    seller_id bigint not null,
+    variant_id bigint,
+    product_name varchar(255) not null,
+    order_type enum ('BUY','RENT') not null,
+    primary key (id, order_created_at)
+) engine=InnoDB;
+
+-- Buyer order history and the per-user voucher limit
+CREATE INDEX idx_orders_archive_buyer_created_at ON orders_archive (buyer_id, created_at);
+
+-- Seller revenue for a date range: by seller, within the months asked for
+CREATE INDEX idx_order_items_archive_seller_created ON order_items_archive (seller_id, order_created_at);
+CREATE INDEX idx_order_items_archive_order ON order_items_archive (order_id);
+
+-- OrderArchiver picks closed orders past the cutoff from the hot table
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
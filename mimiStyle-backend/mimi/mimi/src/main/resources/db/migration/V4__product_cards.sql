@@ -0,0 +1,29 @@
+-- Read model for catalog listings: one row per product with the seller name, category name and
+-- image list copied in, so a listing is a single range scan with no joins. Written only by
+-- ProductCardProjector; no foreign keys, rows follow their product from the projector.
+create table product_cards (
+    buy_price decimal(19,2),
+    condition_percentage integer,
+    is_featured bit,
+    is_new bit,
+    rent_price decimal(19,2),
+    category_id bigint,
+    created_at datetime(6),
+    product_id bigint not null,
+    seller_id bigint,
+    updated_at datetime(6) not null,
+    address_contact varchar(255),
+    category_name varchar(255),
+    description TEXT,
+    image_urls TEXT,
+    name varchar(255) not null,
+    seller_name varchar(255),
+    thumbnail_url varchar(255),
+    rent_unit enum ('DAY','MONTH','WEEK'),
+    status enum ('ACTIVE','HIDDEN','SOLD_OUT') not null,
+    trade_type enum ('BOTH','BUY_ONLY','RENT_ONLY') not null,
+    primary key (product_id)
+) engine=InnoDB;
+
+-- Seller listing, and renaming a seller across their cards
+CREATE INDEX idx_product_cards_seller_product ON product_cards (seller_id, product_id);
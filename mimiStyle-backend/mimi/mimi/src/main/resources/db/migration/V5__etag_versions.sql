@@ -0,0 +1,14 @@
+-- Per-product version for product-detail ETags: bumped by Hibernate (@Version) on every
+-- product update, including image and seller-name changes (see ProductService.markChanged).
+ALTER TABLE products ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN updated_at datetime(6);
+
+-- Generation counters for list ETags, bumped in the same transaction as the change they cover
+-- (CatalogGenerations): 'catalog' for product listings, 'vouchers' for the applicable vouchers.
+create table catalog_generations (
+    generation bigint not null,
+    name varchar(64) not null,
+    primary key (name)
+) engine=InnoDB;
+
+INSERT INTO catalog_generations (name, generation) VALUES ('catalog', 0), ('vouchers', 0);
@@ -0,0 +1,12 @@
+-- Change log behind GET /api/products/changes: one row per product write, id is the sync token.
+-- Rows are inserted after the catalog generation row is locked (CatalogGenerations), so ids
+-- become visible in commit order and a reader never skips a row committed late.
+create table product_changes (
+    changed_at datetime(6) not null,
+    id bigint not null auto_increment,
+    product_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Retention purge
+CREATE INDEX idx_product_changes_changed_at ON product_changes (changed_at);
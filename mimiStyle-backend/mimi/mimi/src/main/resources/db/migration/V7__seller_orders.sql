@@ -0,0 +1,31 @@
+-- One row per (seller, order) for every order holding a line of the seller's products. The seller
+-- order inbox pages through it on (seller_id, [status,] order_created_at, order_id), a bounded
+-- index range scan, instead of joining all of a seller's order lines and sorting them.
+-- OrderServiceImpl writes the rows with the order and keeps status in step; no foreign key on
+-- order_id because archived orders (orders_archive) keep their rows.
+create table seller_orders (
+    id bigint not null auto_increment,
+    order_created_at datetime(6) not null,
+    order_id bigint not null,
+    seller_id bigint not null,
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','PENDING','SHIPPING') not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Inbox pages, all statuses / one status
+CREATE UNIQUE INDEX uk_seller_orders_seller_created ON seller_orders (seller_id, order_created_at, order_id);
+CREATE INDEX idx_seller_orders_seller_status_created ON seller_orders (seller_id, status, order_created_at, order_id);
+
+-- Status changes
+CREATE INDEX idx_seller_orders_order ON seller_orders (order_id);
+
+INSERT INTO seller_orders (seller_id, order_id, order_created_at, status)
+SELECT DISTINCT p.seller_id, o.id, o.created_at, o.status
+FROM orders o
+JOIN order_items oi ON oi.order_id = o.id
+JOIN products p ON p.id = oi.product_id;
+
+INSERT INTO seller_orders (seller_id, order_id, order_created_at, status)
+SELECT DISTINCT oi.seller_id, o.id, o.created_at, o.status
+FROM orders_archive o
+JOIN order_items_archive oi ON oi.order_id = o.id;
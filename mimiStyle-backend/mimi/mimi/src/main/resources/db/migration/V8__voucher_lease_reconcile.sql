@@ -0,0 +1,6 @@
+-- When VoucherUsageCounter last leased uses of a voucher; its reconcile pass recounts used_count
+-- from the orders once no running instance can still hold a lease.
+ALTER TABLE vouchers ADD COLUMN leased_at datetime(6);
+
+-- The recount includes archived orders
+CREATE INDEX idx_orders_archive_voucher ON orders_archive (voucher_id);
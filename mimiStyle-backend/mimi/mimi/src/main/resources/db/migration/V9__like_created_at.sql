@@ -0,0 +1,3 @@
+-- When the like was made: TrendingPosts takes an unlike back at that time, so it removes
+-- exactly the decayed weight the like added. Null for likes made before this column existed.
+ALTER TABLE likes ADD COLUMN created_at datetime(6);
@@ -0,0 +1,18 @@
+package com.mimi.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** {@link ExplainCheck} with its defaults (H2, generated data, minRows=1000) as part of the build. */
+class ExplainCheckTest {
+
+    @Test
+    void repositoryQueriesDoNotScanLargeTables() throws Exception {
+        List<ExplainCheck.Finding> fullScans = ExplainCheck.run(Map.of());
+        assertThat(fullScans).isEmpty();
+    }
+}
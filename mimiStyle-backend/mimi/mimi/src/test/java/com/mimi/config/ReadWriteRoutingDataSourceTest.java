@@ -0,0 +1,150 @@
+package com.mimi.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two independent H2 databases, each holding one row that names it, so every
+ * read shows which side served it.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE replication_lag (seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replication_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replication_lag", 5);
+        routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor);
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsAndNonTransactionalWorkGoToPrimary() {
+        String node = readWrite.execute(status -> node());
+        assertThat(node).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void connectionsWithCredentialsAreRoutedToo() {
+        String node = readOnly.execute(status -> {
+            try (Connection connection = routing.getConnection("sa", "");
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT name FROM node")) {
+                rs.next();
+                return rs.getString(1);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhileReplicaLags() {
+        replicaJdbc.update("UPDATE replication_lag SET seconds = 60");
+        lagMonitor.check();
+        assertThat(lagMonitor.isUsable()).isFalse();
+        assertThat(read()).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replication_lag SET seconds = 1");
+        lagMonitor.check();
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    @Test
+    void requestThatFellBackStaysOnPrimary() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+        List<String> reads = new ArrayList<>();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            replicaJdbc.update("UPDATE replication_lag SET seconds = 60");
+            lagMonitor.check();
+            reads.add(read());
+            replicaJdbc.update("UPDATE replication_lag SET seconds = 0");
+            lagMonitor.check();
+            reads.add(read());
+            reads.add(ReadYourWritesFilter.withRequestRouting(this::read).get());
+        });
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> reads.add(read()));
+        assertThat(reads).containsExactly("primary", "primary", "primary", "replica");
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE)).isNull();
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimaryWhileCookieIsValid() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+        List<String> reads = new ArrayList<>();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            reads.add(read());
+            readWrite.executeWithoutResult(status -> jdbc.update("UPDATE node SET touched = touched + 1"));
+            reads.add(read());
+        });
+        assertThat(reads).containsExactly("replica", "primary");
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest sameClient = new MockHttpServletRequest();
+        sameClient.setCookies(cookie);
+        filter.doFilter(sameClient, new MockHttpServletResponse(), (req, res) -> reads.add(read()));
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (req, res) -> reads.add(read()));
+        assertThat(reads).containsExactly("replica", "primary", "primary", "replica");
+    }
+
+    private String read() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20), touched INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mimi.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventBusTest {
+
+    private final EventBus eventBus = new EventBus(2, 16, 200);
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Test
+    void stalledSubscribersDoNotHoldUpOthers() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            eventBus.subscribe("orders:buyer:1", event -> never.await());
+        }
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        eventBus.subscribe("orders:buyer:2", event -> received.add(event.name()));
+
+        eventBus.publish("orders:buyer:1", "order-status", 1);
+        eventBus.publish("orders:buyer:2", "order-status", 2);
+
+        assertThat(received.poll(2, TimeUnit.SECONDS)).isEqualTo("order-status");
+        // Stalled past send-timeout-ms: unsubscribed
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (eventBus.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(eventBus.subscriberCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,181 @@
+package com.mimi.metrics;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mimi.domain.Product;
+import com.mimi.domain.ProductImage;
+import com.mimi.domain.Voucher;
+import com.mimi.repository.CategoryRepository;
+import com.mimi.repository.ProductImageRepository;
+import com.mimi.repository.ProductRepository;
+import com.mimi.repository.UserRepository;
+import com.mimi.repository.VoucherRepository;
+import com.mimi.service.DataInitializationService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the {@link SqlBudget} endpoints against a few rows of each kind with
+ * {@code sql-budget.fail-on-exceed=true}: a statement over budget fails the request, so any
+ * N+1 that slips into one of them fails here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(SqlBudgetTest.OverBudgetController.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DataInitializationService dataInitializationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductImageRepository productImageRepository;
+    @Autowired
+    private VoucherRepository voucherRepository;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private long postId;
+    private long sellerId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        dataInitializationService.seeded().get(30, TimeUnit.SECONDS);
+        sellerId = userRepository.findFirstByOrderByIdAsc().orElseThrow().getId();
+        long categoryId = categoryRepository.findFirstByOrderByIdAsc().orElseThrow().getId();
+
+        for (int i = 0; i < ROWS; i++) {
+            long id = idOf(post("/api/products").contentType(MediaType.APPLICATION_JSON).content("""
+                    {"name":"Ao %d","description":"d","addressContact":"HN","buyPrice":100000,
+                     "tradeType":"BUY_ONLY","status":"ACTIVE","featured":false,"isNew":true,
+                     "seller":{"id":%d},"category":{"id":%d}}""".formatted(i, sellerId, categoryId)));
+            productIds.add(id);
+            Product product = productRepository.getReferenceById(id);
+            productImageRepository.saveAll(List.of(new ProductImage(null, product, "a" + i + ".jpg", true),
+                    new ProductImage(null, product, "b" + i + ".jpg", false)));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            postId = idOf(post("/api/posts").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userId\":%d,\"content\":\"post %d\"}".formatted(sellerId, i)));
+        }
+        for (int i = 0; i < ROWS; i++) {
+            mockMvc.perform(post("/api/posts/{id}/comments", postId).contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"userId\":%d,\"content\":\"comment %d\"}".formatted(sellerId, i)))
+                    .andExpect(status().isOk());
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Voucher voucher = new Voucher();
+            voucher.setCode("SALE" + i);
+            voucher.setDiscountValue(BigDecimal.valueOf(10000 * (i + 1)));
+            voucher.setMinOrderValue(BigDecimal.valueOf(50000));
+            voucher.setExpirationDate(LocalDateTime.now().plusDays(7));
+            voucherRepository.save(voucher);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            mockMvc.perform(post("/api/orders").contentType(MediaType.APPLICATION_JSON).content("""
+                            {"buyerId":%d,"shippingName":"A","shippingPhone":"09","shippingAddress":"HN",
+                             "items":[{"productId":%d,"quantity":1},{"productId":%d,"quantity":2}]}"""
+                            .formatted(sellerId, productIds.get(0), productIds.get(1 + i % (ROWS - 1)))))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void quoteStaysWithinBudget() throws Exception {
+        mockMvc.perform(post("/api/orders/quote").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"items":[{"productId":%d,"quantity":1},{"productId":%d,"quantity":2}]}"""
+                        .formatted(productIds.get(0), productIds.get(1))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void feedTrendingAndCommentsStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/posts")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/trending")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts/{id}/comments", postId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void productDetailAndBatchStayWithinBudget() throws Exception {
+        String ids = productIds.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElseThrow();
+        mockMvc.perform(get("/api/products/{id}", productIds.get(0))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/batch").param("ids", ids)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/products/batch").contentType(MediaType.APPLICATION_JSON).content("[" + ids + "]"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void applicableVouchersStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/vouchers/applicable").param("subtotal", "500000")).andExpect(status().isOk());
+    }
+
+    @Test
+    void sellerOrdersStayWithinBudget() throws Exception {
+        mockMvc.perform(get("/api/sellers/{id}/orders", sellerId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void overBudgetRequestFails() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/test/over-budget")))
+                .isInstanceOf(ServletException.class)
+                .rootCause().isInstanceOf(SqlBudgetExceededException.class);
+    }
+
+    private long idOf(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        Number id = JsonPath.read(body, "$.id");
+        assertThat(id).isNotNull();
+        return id.longValue();
+    }
+
+    /** Two statements against a budget of one. */
+    @RestController
+    static class OverBudgetController {
+
+        private final UserRepository userRepository;
+        private final CategoryRepository categoryRepository;
+
+        OverBudgetController(UserRepository userRepository, CategoryRepository categoryRepository) {
+            this.userRepository = userRepository;
+            this.categoryRepository = categoryRepository;
+        }
+
+        @SqlBudget(1)
+        @GetMapping("/test/over-budget")
+        long overBudget() {
+            return userRepository.count() + categoryRepository.count();
+        }
+    }
+}
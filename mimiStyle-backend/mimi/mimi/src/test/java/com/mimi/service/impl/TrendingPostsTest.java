@@ -0,0 +1,37 @@
+package com.mimi.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingPostsTest {
+
+    private final TrendingPosts trendingPosts = new TrendingPosts(null, 24, 100, 7);
+
+    @Test
+    void unlikeTakesBackExactlyWhatTheLikeAdded() {
+        LocalDateTime created = LocalDateTime.now().minusDays(2);
+        trendingPosts.record(1L, TrendingPosts.POST_WEIGHT, created);
+        trendingPosts.record(2L, TrendingPosts.POST_WEIGHT, created);
+        double before = trendingPosts.score(1L);
+
+        LocalDateTime likedAt = LocalDateTime.now().minusDays(1);
+        trendingPosts.record(1L, TrendingPosts.LIKE_WEIGHT, likedAt);
+        assertThat(trendingPosts.top(1)).containsExactly(1L);
+
+        trendingPosts.record(1L, -TrendingPosts.LIKE_WEIGHT, trendingPosts.likeCountedAt(likedAt, created));
+        assertThat(trendingPosts.score(1L)).isCloseTo(before, within(before * 1e-9));
+        assertThat(trendingPosts.top(2)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void likesFromBeforeBootstrapAreTakenBackAtPostCreation() {
+        LocalDateTime created = LocalDateTime.now().minusDays(3);
+        assertThat(trendingPosts.likeCountedAt(null, created)).isEqualTo(created);
+        LocalDateTime likedAt = LocalDateTime.now().minusHours(1);
+        assertThat(trendingPosts.likeCountedAt(likedAt, created)).isEqualTo(likedAt);
+    }
+}
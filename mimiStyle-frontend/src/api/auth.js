@@ -1,7 +1,7 @@
-import { API_BASE_URL } from './config';
+import { API_BASE_URL, apiFetch } from './config';
 
 export async function registerAccount(payload) {
-  const response = await fetch(`${API_BASE_URL}/auth/register`, {
+  const response = await apiFetch(`${API_BASE_URL}/auth/register`, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
@@ -26,7 +26,7 @@ export async function registerAccount(payload) {
 }
 
 export async function loginAccount(payload) {
-  const response = await fetch(`${API_BASE_URL}/auth/login`, {
+  const response = await apiFetch(`${API_BASE_URL}/auth/login`, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
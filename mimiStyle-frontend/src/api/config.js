@@ -3,3 +3,12 @@ export const API_BASE_URL = import.meta.env.VITE_API_BASE_URL;
 // Derive origin (scheme://host:port) from API base url (scheme://host:port/api)
 export const API_ORIGIN = API_BASE_URL.replace(/\/api\/?$/, '');
 
+
+/**
+ * fetch() for the backend API. The API is on another origin, so cookies are only kept and sent
+ * back with credentials: 'include' — the backend uses one (mimi_primary_until) to serve a client
+ * its own writes right after making them.
+ */
+export function apiFetch(url, options = {}) {
+  return fetch(url, { credentials: 'include', ...options });
+}
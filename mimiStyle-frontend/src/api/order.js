@@ -1,11 +1,13 @@
+import { apiFetch } from './config';
+
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL;
 
 /**
  * Tạo đơn hàng (khi khách hoàn tất thanh toán).
- * @param {object} payload - { buyerId, shippingName, shippingPhone, shippingAddress, shippingEmail?, shippingFee, discountAmount, paymentMethod, note?, items: [{ productId, quantity, variantId? }] }
+ * @param {object} payload - { buyerId, shippingName, shippingPhone, shippingAddress, shippingEmail?, shippingFee, voucherCode?, paymentMethod, note?, items: [{ productId, quantity, variantId? }] }
  */
 export async function createOrder(payload) {
-  const res = await fetch(`${API_BASE_URL}/orders`, {
+  const res = await apiFetch(`${API_BASE_URL}/orders`, {
     method: 'POST',
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify(payload),
@@ -23,7 +25,7 @@ export async function createOrder(payload) {
  * @param {string} status - 'PENDING' | 'CONFIRMED' | 'SHIPPING' | 'COMPLETED' | 'CANCELLED'
  */
 export async function updateOrderStatus(orderId, status) {
-  const res = await fetch(`${API_BASE_URL}/orders/${orderId}/status`, {
+  const res = await apiFetch(`${API_BASE_URL}/orders/${orderId}/status`, {
     method: 'PATCH',
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify({ status }),
@@ -51,7 +53,7 @@ export async function updateOrderStatus(orderId, status) {
  * @returns {Promise<Array>} [{ id, createdAt, status, shippingName, shippingPhone, shippingAddress, items, totalAmount, ... }]
  */
 export async function getMyOrders(buyerId) {
-  const res = await fetch(`${API_BASE_URL}/orders/me?buyerId=${buyerId}`);
+  const res = await apiFetch(`${API_BASE_URL}/orders/me?buyerId=${buyerId}`);
   const text = await res.text();
   if (!res.ok) throw new Error('Không thể tải lịch sử đơn hàng');
   try {
@@ -60,3 +62,24 @@ export async function getMyOrders(buyerId) {
     throw new Error('Dữ liệu trả về không hợp lệ');
   }
 }
+
+/**
+ * Hộp đơn của người bán: các đơn có sản phẩm của họ (chỉ gồm dòng của họ), mới nhất trước, theo trang.
+ * @param {number} sellerId
+ * @param {object} options - { status?, startDate?, endDate? (yyyy-MM-dd), cursor?, limit? }
+ * @returns {Promise<{items: Array, nextCursor: string|null}>} items: [{ orderId, createdAt, status, shippingName, shippingPhone, shippingAddress, note, items, sellerTotal }]
+ */
+export async function getSellerOrders(sellerId, { status, startDate, endDate, cursor, limit } = {}) {
+  const params = new URLSearchParams();
+  if (status) params.append('status', status);
+  if (startDate) params.append('startDate', startDate);
+  if (endDate) params.append('endDate', endDate);
+  if (cursor) params.append('cursor', cursor);
+  if (limit) params.append('limit', limit);
+  const res = await apiFetch(`${API_BASE_URL}/sellers/${sellerId}/orders?${params}`);
+  if (!res.ok) {
+    const err = await res.json().catch(() => ({}));
+    throw new Error(err.message || 'Không thể tải danh sách đơn hàng');
+  }
+  return res.json();
+}
@@ -1,6 +1,8 @@
+import { apiFetch } from './config';
+
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL;
 export async function getUserProducts(userId) {
-  const response = await fetch(`${API_BASE_URL}/products/user/${userId}`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/user/${userId}`, {
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
@@ -16,7 +18,7 @@ export async function getUserProducts(userId) {
 
 export async function createProduct(productData) {
   try {
-    const response = await fetch(`${API_BASE_URL}/products`, {
+    const response = await apiFetch(`${API_BASE_URL}/products`, {
       method: 'POST',
       headers: {
         'Content-Type': 'application/json',
@@ -81,7 +83,7 @@ export async function createProduct(productData) {
 }
 
 export async function updateProduct(id, productData) {
-  const response = await fetch(`${API_BASE_URL}/products/${id}`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/${id}`, {
     method: 'PUT',
     headers: {
       'Content-Type': 'application/json',
@@ -97,7 +99,7 @@ export async function updateProduct(id, productData) {
 }
 
 export async function deleteProduct(id) {
-  const response = await fetch(`${API_BASE_URL}/products/${id}`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/${id}`, {
     method: 'DELETE',
     headers: {
       'Content-Type': 'application/json',
@@ -110,7 +112,7 @@ export async function deleteProduct(id) {
 }
 
 export async function getAllProducts() {
-  const response = await fetch(`${API_BASE_URL}/products`, {
+  const response = await apiFetch(`${API_BASE_URL}/products`, {
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
@@ -125,7 +127,7 @@ export async function getAllProducts() {
 }
 
 export async function getProductById(id) {
-  const response = await fetch(`${API_BASE_URL}/products/${id}`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/${id}`, {
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
@@ -146,7 +148,7 @@ export async function uploadProductImages(files) {
     formData.append('files', files[i]);
   }
 
-  const response = await fetch(`${API_BASE_URL}/products/upload-images`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/upload-images`, {
     method: 'POST',
     body: formData,
   });
@@ -160,7 +162,7 @@ export async function uploadProductImages(files) {
 }
 
 export async function deleteProductImage(productId, filename) {
-  const response = await fetch(`${API_BASE_URL}/products/${productId}/images/${filename}`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/${productId}/images/${filename}`, {
     method: 'DELETE',
     headers: {
       'Content-Type': 'application/json',
@@ -176,7 +178,7 @@ export async function deleteProductImage(productId, filename) {
 }
 
 export async function saveProductImageNames(productId, filenames) {
-  const response = await fetch(`${API_BASE_URL}/products/${productId}/images`, {
+  const response = await apiFetch(`${API_BASE_URL}/products/${productId}/images`, {
     method: 'POST',
     headers: {
       'Content-Type': 'application/json',
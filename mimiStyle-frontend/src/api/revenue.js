@@ -1,3 +1,5 @@
+import { apiFetch } from './config';
+
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL;
 
 export async function getRevenueSummary(userId, startDate, endDate, category) {
@@ -6,7 +8,7 @@ export async function getRevenueSummary(userId, startDate, endDate, category) {
   if (endDate) params.append('endDate', endDate);
   if (category) params.append('category', category);
 
-  const response = await fetch(`${API_BASE_URL}/revenue/summary/${userId}?${params}`, {
+  const response = await apiFetch(`${API_BASE_URL}/revenue/summary/${userId}?${params}`, {
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
@@ -26,7 +28,7 @@ export async function getSoldProducts(userId, startDate, endDate, category) {
   if (endDate) params.append('endDate', endDate);
   if (category) params.append('category', category);
 
-  const response = await fetch(`${API_BASE_URL}/revenue/sold-products/${userId}?${params}`, {
+  const response = await apiFetch(`${API_BASE_URL}/revenue/sold-products/${userId}?${params}`, {
     method: 'GET',
     headers: {
       'Content-Type': 'application/json',
@@ -1,4 +1,4 @@
-import { API_BASE_URL } from './config';
+import { API_BASE_URL, apiFetch } from './config';
 
 async function parseResponse(res) {
   const text = await res.text();
@@ -15,7 +15,7 @@ async function parseResponse(res) {
  * Lấy danh sách tất cả user (dành cho ADMIN).
  */
 export async function getAllUsers() {
-  const res = await fetch(`${API_BASE_URL}/users/list`);
+  const res = await apiFetch(`${API_BASE_URL}/users/list`);
   const { data } = await parseResponse(res);
   if (!res.ok) {
     throw new Error(typeof data === 'string' ? data : 'Không thể tải danh sách user');
@@ -24,7 +24,7 @@ export async function getAllUsers() {
 }
 
 export async function getUserById(id) {
-  const res = await fetch(`${API_BASE_URL}/users/${id}`);
+  const res = await apiFetch(`${API_BASE_URL}/users/${id}`);
   const { data, text } = await parseResponse(res);
   if (!res.ok) {
     const message = typeof data === 'string' ? data : 'Không lấy được thông tin người dùng';
@@ -34,7 +34,7 @@ export async function getUserById(id) {
 }
 
 export async function updateUser(id, payload) {
-  const res = await fetch(`${API_BASE_URL}/users/${id}`, {
+  const res = await apiFetch(`${API_BASE_URL}/users/${id}`, {
     method: 'PUT',
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify(payload),
@@ -51,7 +51,7 @@ export async function uploadAvatar(id, file) {
   const form = new FormData();
   form.append('file', file);
 
-  const res = await fetch(`${API_BASE_URL}/users/${id}/avatar`, {
+  const res = await apiFetch(`${API_BASE_URL}/users/${id}/avatar`, {
     method: 'POST',
     body: form,
   });
@@ -67,7 +67,7 @@ export async function uploadAvatar(id, file) {
  * Lấy thống kê tổng quan hệ thống (dành cho ADMIN).
  */
 export async function getSystemStats() {
-  const res = await fetch(`${API_BASE_URL}/users/stats`);
+  const res = await apiFetch(`${API_BASE_URL}/users/stats`);
   const { data } = await parseResponse(res);
   if (!res.ok) {
     throw new Error(typeof data === 'string' ? data : 'Không thể tải thống kê');
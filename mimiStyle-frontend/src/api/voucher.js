@@ -1,4 +1,4 @@
-import { API_BASE_URL } from './config';
+import { API_BASE_URL, apiFetch } from './config';
 
 /**
  * Lấy danh sách mã giảm giá đáp ứng điều kiện (chưa hết hạn, đơn hàng >= minOrderValue).
@@ -7,7 +7,7 @@ import { API_BASE_URL } from './config';
 export async function getApplicableVouchers(subtotal) {
   const url = new URL(`${API_BASE_URL}/vouchers/applicable`);
   url.searchParams.set('subtotal', String(subtotal));
-  const res = await fetch(url.toString(), {
+  const res = await apiFetch(url.toString(), {
     method: 'GET',
     headers: { 'Content-Type': 'application/json' },
   });
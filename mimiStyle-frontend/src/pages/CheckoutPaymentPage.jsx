@@ -108,6 +108,7 @@ export default function CheckoutPaymentPage() {
           shippingEmail: formData.email,
           shippingFee: Number(shippingFee) || 0,
           discountAmount: Number(discount) || 0,
+          voucherCode: appliedVoucher?.code,
           paymentMethod: paymentMethodMap[paymentId] || 'COD',
           items: items.map((i) => ({ productId: i.productId, quantity: i.quantity })),
         });
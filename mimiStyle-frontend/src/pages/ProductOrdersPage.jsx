@@ -1,8 +1,7 @@
-import React, { useState, useEffect, useMemo } from 'react';
+import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { PackageCheck, Truck, User, ChevronDown, ChevronUp } from 'lucide-react';
-import { getSoldProducts } from '../api/revenue';
-import { updateOrderStatus } from '../api/order';
+import { getSellerOrders, updateOrderStatus } from '../api/order';
 import { API_BASE_URL } from '../api/config';
 import '../styles/ProductOrdersPage.css';
 import '../styles/RevenuePage.css';
@@ -18,46 +17,44 @@ function buildProductImageSrc(imageUrl) {
   return `${base}/products/images/${raw}`;
 }
 
-function groupSoldProductsByOrder(soldProducts) {
-  const byOrder = new Map();
-  for (const p of soldProducts) {
-    const orderId = p.orderId;
-    if (!byOrder.has(orderId)) {
-      byOrder.set(orderId, {
-        orderId,
-        orderStatus: p.orderStatus || 'PENDING',
-        soldDate: p.soldDate,
-        items: [],
-        orderTotal: 0,
-        shippingName: p.shippingName ?? p.shipping_name ?? '',
-        shippingPhone: p.shippingPhone ?? p.shipping_phone ?? '',
-        shippingAddress: p.shippingAddress ?? p.shipping_address ?? '',
-        note: p.note ?? '',
-      });
-    }
-    const order = byOrder.get(orderId);
-    const amount = Number(p.totalAmount) || 0;
-    order.items.push({
-      id: p.id,
-      name: p.name,
-      imageUrl: p.imageUrl,
-      quantity: p.quantity ?? 0,
-      totalAmount: amount,
-    });
-    order.orderTotal += amount;
-  }
-  return Array.from(byOrder.values()).sort((a, b) => {
-    const dateA = a.soldDate ? new Date(a.soldDate).getTime() : 0;
-    const dateB = b.soldDate ? new Date(b.soldDate).getTime() : 0;
-    return dateB - dateA;
-  });
+/** Đơn từ GET /sellers/{id}/orders, đã nhóm sẵn ở server, về dạng hiển thị của trang. */
+function toOrderView(order) {
+  return {
+    orderId: order.orderId,
+    orderStatus: order.status || 'PENDING',
+    soldDate: order.createdAt,
+    items: (order.items || []).map((item) => ({
+      id: item.productId,
+      name: item.productName,
+      imageUrl: item.imageUrl,
+      quantity: item.quantity ?? 0,
+      totalAmount: Number(item.lineTotal) || 0,
+    })),
+    orderTotal: Number(order.sellerTotal) || 0,
+    shippingName: order.shippingName ?? '',
+    shippingPhone: order.shippingPhone ?? '',
+    shippingAddress: order.shippingAddress ?? '',
+    note: order.note ?? '',
+  };
 }
 
+const STATUS_FILTERS = [
+  { value: '', label: 'Tất cả trạng thái' },
+  { value: 'PENDING', label: 'Chờ xử lý' },
+  { value: 'CONFIRMED', label: 'Đã xác nhận' },
+  { value: 'SHIPPING', label: 'Đang vận chuyển' },
+  { value: 'COMPLETED', label: 'Giao hàng thành công' },
+  { value: 'CANCELLED', label: 'Đã hủy' },
+];
+
 const ProductOrdersPage = () => {
   const navigate = useNavigate();
   const [user, setUser] = useState(null);
   const [loading, setLoading] = useState(true);
-  const [soldProducts, setSoldProducts] = useState([]);
+  const [orders, setOrders] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [statusFilter, setStatusFilter] = useState('');
   const [confirmingOrderId, setConfirmingOrderId] = useState(null);
   const [expandedOrderId, setExpandedOrderId] = useState(null);
 
@@ -80,25 +77,43 @@ const ProductOrdersPage = () => {
     let cancelled = false;
     if (userId == null) {
       setLoading(false);
-      setSoldProducts([]);
+      setOrders([]);
+      setNextCursor(null);
       return;
     }
     setLoading(true);
-    getSoldProducts(userId, null, null, null)
-      .then((data) => {
-        if (!cancelled) setSoldProducts(Array.isArray(data) ? data : []);
+    getSellerOrders(userId, { status: statusFilter })
+      .then((page) => {
+        if (cancelled) return;
+        setOrders((page.items || []).map(toOrderView));
+        setNextCursor(page.nextCursor ?? null);
       })
       .catch((err) => {
         console.error('Error loading orders:', err);
-        if (!cancelled) setSoldProducts([]);
+        if (!cancelled) {
+          setOrders([]);
+          setNextCursor(null);
+        }
       })
       .finally(() => {
         if (!cancelled) setLoading(false);
       });
     return () => { cancelled = true; };
-  }, [userId]);
+  }, [userId, statusFilter]);
 
-  const orders = useMemo(() => groupSoldProductsByOrder(soldProducts), [soldProducts]);
+  const handleLoadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const page = await getSellerOrders(userId, { status: statusFilter, cursor: nextCursor });
+      setOrders((prev) => [...prev, ...(page.items || []).map(toOrderView)]);
+      setNextCursor(page.nextCursor ?? null);
+    } catch (err) {
+      alert(err?.message || 'Không thể tải thêm đơn hàng');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const handleConfirmOrder = async (orderId) => {
     if (!orderId) return;
@@ -107,9 +122,9 @@ const ProductOrdersPage = () => {
     try {
       setConfirmingOrderId(orderId);
       await updateOrderStatus(orderId, 'SHIPPING');
-      setSoldProducts((prev) =>
-        prev.map((p) =>
-          p.orderId === orderId ? { ...p, orderStatus: 'SHIPPING' } : p
+      setOrders((prev) =>
+        prev.map((o) =>
+          o.orderId === orderId ? { ...o, orderStatus: 'SHIPPING' } : o
         )
       );
     } catch (err) {
@@ -126,9 +141,9 @@ const ProductOrdersPage = () => {
     try {
       setConfirmingOrderId(orderId);
       await updateOrderStatus(orderId, 'COMPLETED');
-      setSoldProducts((prev) =>
-        prev.map((p) =>
-          p.orderId === orderId ? { ...p, orderStatus: 'COMPLETED' } : p
+      setOrders((prev) =>
+        prev.map((o) =>
+          o.orderId === orderId ? { ...o, orderStatus: 'COMPLETED' } : o
         )
       );
     } catch (err) {
@@ -169,6 +184,15 @@ const ProductOrdersPage = () => {
       <div className="product-orders-header">
         <h1>Order</h1>
         <p className="product-orders-subtitle">Tất cả đơn hàng có sản phẩm của bạn</p>
+        <select
+          className="product-orders-filter"
+          value={statusFilter}
+          onChange={(e) => setStatusFilter(e.target.value)}
+        >
+          {STATUS_FILTERS.map((f) => (
+            <option key={f.value} value={f.value}>{f.label}</option>
+          ))}
+        </select>
       </div>
       <div className="revenue-orders-list">
         {orders.length > 0 ? (
@@ -292,6 +316,13 @@ const ProductOrdersPage = () => {
           </div>
         )}
       </div>
+      {nextCursor && (
+        <div className="product-orders-load-more">
+          <button type="button" onClick={handleLoadMore} disabled={loadingMore}>
+            {loadingMore ? 'Đang tải...' : 'Xem thêm đơn hàng'}
+          </button>
+        </div>
+      )}
     </div>
   );
 };